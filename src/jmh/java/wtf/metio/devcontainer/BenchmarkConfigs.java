@@ -0,0 +1,102 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Loads the devcontainer.json inputs shared by the benchmarks. Plain names refer to the files of the test corpus in
+ * {@code src/test/resources}, while names of the form {@code synthetic-<n>} generate a config with {@code n} entries
+ * in each map and list, to measure how parsing scales beyond the hand-written examples.
+ */
+final class BenchmarkConfigs {
+
+  private static final String SYNTHETIC = "synthetic-";
+
+  private BenchmarkConfigs() {
+    // utility class
+  }
+
+  static byte[] load(final String config) {
+    if (config.startsWith(SYNTHETIC)) {
+      return synthetic(Integer.parseInt(config.substring(SYNTHETIC.length()))).getBytes(StandardCharsets.UTF_8);
+    }
+    try (InputStream stream = BenchmarkConfigs.class.getResourceAsStream("/" + config)) {
+      if (stream == null) {
+        throw new IllegalArgumentException("Unknown benchmark config: " + config);
+      }
+      return stream.readAllBytes();
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  static Path write(final byte[] content) {
+    try {
+      final Path file = Files.createTempFile("devcontainer", ".json");
+      return Files.write(file, content);
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  static void delete(final Path file) {
+    try {
+      Files.deleteIfExists(file);
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  static String synthetic(final int entries) {
+    final StringBuilder json = new StringBuilder(entries * 512)
+        .append("{\"name\":\"synthetic\",\"image\":\"mcr.microsoft.com/devcontainers/base:ubuntu\"");
+    json.append(",\"forwardPorts\":[");
+    for (int index = 0; index < entries; index++) {
+      json.append(index == 0 ? "" : ",").append(index % 2 == 0 ? String.valueOf(3000 + index) : "\"db:" + index + "\"");
+    }
+    json.append("],\"portsAttributes\":{");
+    for (int index = 0; index < entries; index++) {
+      json.append(index == 0 ? "" : ",").append("\"").append(3000 + index)
+          .append("\":{\"label\":\"port ").append(index).append("\",\"onAutoForward\":\"silent\"}");
+    }
+    json.append("},\"containerEnv\":{");
+    for (int index = 0; index < entries; index++) {
+      json.append(index == 0 ? "" : ",").append("\"VARIABLE_").append(index).append("\":\"value-").append(index)
+          .append("\"");
+    }
+    json.append("},\"features\":{");
+    for (int index = 0; index < entries; index++) {
+      json.append(index == 0 ? "" : ",").append("\"ghcr.io/devcontainers/features/feature-").append(index)
+          .append(":1\":{\"version\":\"latest\",\"install\":\"true\"}");
+    }
+    json.append("},\"mounts\":[");
+    for (int index = 0; index < entries; index++) {
+      json.append(index == 0 ? "" : ",").append("\"source=volume-").append(index).append(",target=/data/")
+          .append(index).append(",type=volume\"");
+    }
+    json.append("],\"postCreateCommand\":{");
+    for (int index = 0; index < entries; index++) {
+      json.append(index == 0 ? "" : ",").append("\"step-").append(index).append("\":[\"echo\",\"").append(index)
+          .append("\"]");
+    }
+    json.append("},\"customizations\":{\"vscode\":{\"extensions\":[");
+    for (int index = 0; index < entries; index++) {
+      json.append(index == 0 ? "" : ",").append("\"publisher.extension-").append(index).append("\"");
+    }
+    json.append("],\"settings\":{");
+    for (int index = 0; index < entries; index++) {
+      json.append(index == 0 ? "" : ",").append("\"editor.setting").append(index).append("\":{\"enabled\":true,")
+          .append("\"size\":").append(index).append("}");
+    }
+    return json.append("}}}}").toString();
+  }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.HexFormat;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+
+/**
+ * Cost of the build fingerprint of a devcontainer: looked up again, computed from scratch, and compared with hashing
+ * the JSON serialization of the same components.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FingerprintBenchmark {
+
+  @Param({"shell-big.json", "synthetic-50"})
+  public String config;
+
+  private final ObjectMapper mapper = Devcontainer.defaultObjectMapper();
+  private Devcontainer devcontainer;
+
+  @Setup
+  public void setup() {
+    devcontainer = Devcontainer.parse(BenchmarkConfigs.load(config));
+    DevcontainerFingerprint.build().fingerprint(devcontainer);
+  }
+
+  @Benchmark
+  public String memoized() {
+    return DevcontainerFingerprint.build().fingerprint(devcontainer);
+  }
+
+  @Benchmark
+  public String computed() {
+    return DevcontainerFingerprint.build().fingerprint(devcontainer.withName(devcontainer.name()));
+  }
+
+  @Benchmark
+  public String serialized() {
+    final Devcontainer build = Devcontainer.builder()
+        .image(devcontainer.image())
+        .build(devcontainer.build())
+        .features(devcontainer.features())
+        .overrideFeatureInstallOrder(devcontainer.overrideFeatureInstallOrder())
+        .create();
+    return HexFormat.of().formatHex(DevcontainerCache.digest("SHA-256").digest(mapper.writeValueAsBytes(build)));
+  }
+
+}
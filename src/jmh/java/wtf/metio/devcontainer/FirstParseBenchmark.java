@@ -0,0 +1,49 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Latency of the very first parse in a fresh JVM, which includes class loading, building the default reader, and
+ * resolving its deserializers. Every fork is a new JVM that measures exactly one invocation, so the setup must not touch
+ * any class of the library.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 0)
+@Measurement(iterations = 1)
+@Fork(20)
+public class FirstParseBenchmark {
+
+  @Param({"name.json", "shell-big.json"})
+  public String config;
+
+  private String json;
+
+  @Setup
+  public void setup() {
+    json = new String(BenchmarkConfigs.load(config), StandardCharsets.UTF_8);
+  }
+
+  @Benchmark
+  public Devcontainer firstParse() {
+    return Devcontainer.parse(json);
+  }
+
+}
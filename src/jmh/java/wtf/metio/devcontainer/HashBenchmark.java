@@ -0,0 +1,73 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of using large devcontainers as map keys. After the first call, {@code hashCode} is a lookup that does not
+ * depend on the size of the configuration, while {@code structuralHashCode} walks the whole graph like the generated
+ * record methods do.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HashBenchmark {
+
+  @Param({"name.json", "synthetic-50", "synthetic-500"})
+  public String config;
+
+  private final Map<Devcontainer, String> map = new HashMap<>();
+  private Devcontainer key;
+  private Devcontainer copy;
+
+  @Setup
+  public void setup() {
+    final byte[] bytes = BenchmarkConfigs.load(config);
+    key = Devcontainer.parse(bytes);
+    copy = Devcontainer.parse(bytes);
+    for (int index = 0; index < 1000; index++) {
+      map.put(key.withName("config-" + index), "value-" + index);
+    }
+    map.put(key, "value");
+  }
+
+  @Benchmark
+  public int cachedHashCode() {
+    return key.hashCode();
+  }
+
+  @Benchmark
+  public int structuralHashCode() {
+    return CachedHashes.structuralHashCode(key);
+  }
+
+  @Benchmark
+  public String lookupSameInstance() {
+    return map.get(key);
+  }
+
+  @Benchmark
+  public String lookupEqualCopy() {
+    return map.get(copy);
+  }
+
+}
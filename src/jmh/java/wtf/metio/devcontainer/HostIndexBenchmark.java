@@ -0,0 +1,102 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of finding the hosts that satisfy selective {@link HostRequirements} with a {@link HostIndex}, compared with
+ * checking every host, both on their own and after a placement took or freed some of the capacity of one host.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HostIndexBenchmark {
+
+  private static final long GB = 1L << 30;
+
+  @Param({"100", "5000"})
+  public int hosts;
+
+  private final HostIndex index = new HostIndex();
+  private final List<HostCapacity> capacities = new ArrayList<>();
+  private final Random placements = new Random(7);
+  private final HostRequirements requirements = HostRequirements.builder()
+      .cpus(48)
+      .memory("192gb")
+      .gpu(Gpu.builder().enabled(true).create())
+      .create();
+
+  @Setup
+  public void setup() {
+    final Random random = new Random(42);
+    for (int host = 0; host < hosts; host++) {
+      final HostCapacity capacity = new HostCapacity("host-" + host, 1 + random.nextInt(64),
+          (1 + random.nextInt(256)) * GB, (1 + random.nextInt(2048)) * GB,
+          random.nextInt(4) == 0 ? 1 + random.nextInt(8) : 0, random.nextInt(32) * GB);
+      capacities.add(capacity);
+      index.update(capacity);
+    }
+    index.match(requirements);
+  }
+
+  @Benchmark
+  public List<HostCapacity> indexed() {
+    return index.match(requirements);
+  }
+
+  @Benchmark
+  public List<HostCapacity> updateThenIndexed() {
+    index.update(place());
+    return index.match(requirements);
+  }
+
+  @Benchmark
+  public List<HostCapacity> updateThenLinearScan() {
+    place();
+    return linearScan();
+  }
+
+  @Benchmark
+  public List<HostCapacity> linearScan() {
+    final long memory = requirements.memoryBytes();
+    final List<HostCapacity> matches = new ArrayList<>();
+    for (final HostCapacity capacity : capacities) {
+      if (capacity.cpus() >= requirements.cpus() && capacity.memory() >= memory && capacity.gpuCores() > 0) {
+        matches.add(capacity);
+      }
+    }
+    return matches;
+  }
+
+  // takes or frees up to 4 cores and 16 GB of a random host, staying within the ranges the hosts started with
+  private HostCapacity place() {
+    final int host = placements.nextInt(capacities.size());
+    final HostCapacity current = capacities.get(host);
+    final HostCapacity placed = current
+        .withCpus(Math.clamp(current.cpus() + placements.nextInt(-4, 5), 1, 64))
+        .withMemory(Math.clamp(current.memory() + placements.nextInt(-16, 17) * GB, GB, 256 * GB));
+    capacities.set(host, placed);
+    return placed;
+  }
+
+}
@@ -0,0 +1,102 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.AuxCounters;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * Heap retained by a batch of parsed configurations with and without a {@link DevcontainerInterner}, reported as the
+ * {@code retainedKilobytes} counter. Each invocation starts with an empty pool, so the retained size of the interning
+ * reader includes the pool itself. The time of each invocation is dominated by the garbage collections needed to
+ * measure the heap, so compare the counters instead.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 5)
+@Fork(value = 1, jvmArgs = {"-Xms1g", "-Xmx1g"})
+public class InternerBenchmark {
+
+  @Param({"shell-big.json", "synthetic-50"})
+  public String config;
+
+  @Param({"1000"})
+  public int files;
+
+  private byte[] content;
+
+  @Setup
+  public void setup() {
+    content = BenchmarkConfigs.load(config);
+  }
+
+  @Benchmark
+  public int plain(final Retained retained) {
+    return measure(Devcontainer::reader, retained);
+  }
+
+  @Benchmark
+  public int interning(final Retained retained) {
+    return measure(() -> Devcontainer.interningReader(new DevcontainerInterner(1 << 20)), retained);
+  }
+
+  // compares the heap with and without the parsed files, so garbage left behind by earlier invocations cancels out
+  private int measure(final Supplier<ObjectReader> readers, final Retained retained) {
+    final long[] withFiles = new long[1];
+    final int parsed = parse(readers.get(), withFiles);
+    retained.retainedKilobytes = (withFiles[0] - usedHeap()) / 1024;
+    return parsed;
+  }
+
+  private int parse(final ObjectReader reader, final long[] withFiles) {
+    final List<Devcontainer> parsed = new ArrayList<>(files);
+    for (int file = 0; file < files; file++) {
+      parsed.add(reader.readValue(content));
+    }
+    withFiles[0] = usedHeap();
+    return parsed.size();
+  }
+
+  // a few collections settle the heap, since a single one may leave garbage of concurrent phases behind
+  private static long usedHeap() {
+    final Runtime runtime = Runtime.getRuntime();
+    for (int collection = 0; collection < 3; collection++) {
+      System.gc();
+    }
+    return runtime.totalMemory() - runtime.freeMemory();
+  }
+
+  @State(Scope.Thread)
+  @AuxCounters(AuxCounters.Type.EVENTS)
+  public static class Retained {
+
+    public long retainedKilobytes;
+
+    @Setup(Level.Iteration)
+    public void reset() {
+      retainedKilobytes = 0;
+    }
+
+  }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Time to parse a batch of files with {@link Devcontainer#parseAll(java.util.Collection, int)}. Comparing the
+ * {@code parallelism} values against each other shows how the bulk parser scales with the number of cores.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseAllBenchmark {
+
+  @Param({"1000"})
+  public int files;
+
+  @Param({"1", "2", "4", "8"})
+  public int parallelism;
+
+  private List<Path> paths;
+
+  @Setup
+  public void setup() {
+    final byte[] content = BenchmarkConfigs.load("shell-big.json");
+    paths = new ArrayList<>(files);
+    for (int index = 0; index < files; index++) {
+      paths.add(BenchmarkConfigs.write(content));
+    }
+  }
+
+  @TearDown
+  public void tearDown() {
+    paths.forEach(BenchmarkConfigs::delete);
+  }
+
+  @Benchmark
+  public List<ParseResult> parseAll() {
+    return Devcontainer.parseAll(paths, parallelism);
+  }
+
+}
@@ -0,0 +1,147 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+
+/**
+ * Steady state parse throughput for every supported input type. Run with {@code -prof gc} (the default of the
+ * {@code benchmarks} profile) to get the allocation rate per operation next to the throughput numbers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ParseBenchmark {
+
+  @Param({"name.json", "ports-attributes.json", "update-content-command.json", "shell-big.json", "synthetic-50",
+      "synthetic-500"})
+  public String config;
+
+  private byte[] bytes;
+  private String json;
+  private Path path;
+  private File file;
+  private ByteBuffer heapBuffer;
+  private ByteBuffer directBuffer;
+  private DevcontainerCache cache;
+  private ObjectReader lazyReader;
+  private ObjectReader projectingReader;
+  private ObjectMapper mapper;
+  private ObjectMapper reflectiveMapper;
+
+  @Setup
+  public void setup() {
+    bytes = BenchmarkConfigs.load(config);
+    json = new String(bytes, StandardCharsets.UTF_8);
+    path = BenchmarkConfigs.write(bytes);
+    file = path.toFile();
+    cache = new DevcontainerCache(1);
+    heapBuffer = ByteBuffer.wrap(bytes);
+    directBuffer = ByteBuffer.allocateDirect(bytes.length).put(bytes).flip();
+    mapper = Devcontainer.defaultObjectMapper();
+    lazyReader = Devcontainer.reader().withAttribute(DevcontainerModule.LAZY_CUSTOMIZATIONS, true);
+    projectingReader = Devcontainer.projectingReader("image", "build", "features", "hostRequirements");
+    reflectiveMapper = JsonMapper.builder().build();
+  }
+
+  @TearDown
+  public void tearDown() {
+    BenchmarkConfigs.delete(path);
+  }
+
+  @Benchmark
+  public Devcontainer string() {
+    return Devcontainer.parse(json);
+  }
+
+  @Benchmark
+  public Devcontainer path() {
+    return Devcontainer.parse(path);
+  }
+
+  @Benchmark
+  public Devcontainer file() {
+    return Devcontainer.parse(file);
+  }
+
+  @Benchmark
+  public Devcontainer bytes() {
+    return Devcontainer.parse(bytes);
+  }
+
+  @Benchmark
+  public Devcontainer inputStream() {
+    return Devcontainer.parse(new ByteArrayInputStream(bytes));
+  }
+
+  @Benchmark
+  public Devcontainer heapBuffer() {
+    return Devcontainer.parse(heapBuffer);
+  }
+
+  @Benchmark
+  public Devcontainer directBuffer() {
+    return Devcontainer.parse(directBuffer);
+  }
+
+  @Benchmark
+  public Devcontainer mappedPath() {
+    return Devcontainer.parseMapped(path);
+  }
+
+  @Benchmark
+  public Devcontainer cachedPath() {
+    return cache.parse(path);
+  }
+
+  @Benchmark
+  public Devcontainer bytesWithLazyCustomizations() {
+    return lazyReader.readValue(bytes);
+  }
+
+  @Benchmark
+  public Devcontainer bytesProjected() {
+    return projectingReader.readValue(bytes);
+  }
+
+  @Benchmark
+  public Devcontainer stringWithMapper() {
+    return Devcontainer.parse(json, mapper);
+  }
+
+  @Benchmark
+  public Devcontainer stringWithReflectiveMapper() {
+    return Devcontainer.parse(json, reflectiveMapper);
+  }
+
+  @Benchmark
+  public Devcontainer stringWithNewMapper() {
+    return Devcontainer.parse(json, Devcontainer.defaultObjectMapper());
+  }
+
+}
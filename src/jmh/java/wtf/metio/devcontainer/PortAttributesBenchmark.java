@@ -0,0 +1,67 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of resolving the attributes of a port with a compiled {@link PortAttributesMatcher}, for configurations with
+ * many single ports and ranges. Run with {@code -prof gc} to confirm that lookups do not allocate.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PortAttributesBenchmark {
+
+  @Param({"10", "1000"})
+  public int entries;
+
+  private PortAttributesMatcher matcher;
+  private int port;
+
+  @Setup
+  public void setup() {
+    final Map<String, PortAttribute> attributes = new LinkedHashMap<>();
+    for (int index = 0; index < entries; index++) {
+      attributes.put(String.valueOf(3000 + index), PortAttribute.builder().label("port " + index).create());
+      attributes.put((20000 + index * 10) + "-" + (20000 + index * 10 + 5),
+          PortAttribute.builder().label("range " + index).create());
+    }
+    matcher = PortAttributesMatcher.of(attributes, PortAttribute.builder().label("other").create());
+  }
+
+  @Benchmark
+  public PortAttribute exact() {
+    port = port == 3000 ? 3001 : 3000;
+    return matcher.match(port);
+  }
+
+  @Benchmark
+  public PortAttribute range() {
+    return matcher.match(20003);
+  }
+
+  @Benchmark
+  public PortAttribute fallback() {
+    return matcher.match(65000);
+  }
+
+}
@@ -0,0 +1,75 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Cost of resolving the variables of a devcontainer with compiled {@link Template}s, compared with scanning every
+ * string with a regular expression.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TemplateBenchmark {
+
+  private static final Pattern VARIABLE = Pattern.compile("\\$\\{([^}:]+)(?::([^}:]*))?(?::([^}]*))?}");
+  private static final VariableSource SOURCE = (name, argument) -> switch (name) {
+    case "localEnv" -> "/home/user";
+    case "localWorkspaceFolder" -> "/home/user/project";
+    case "containerWorkspaceFolder" -> "/workspaces/project";
+    default -> null;
+  };
+
+  private final Devcontainer devcontainer = Devcontainer.builder()
+      .remoteEnv(Map.of("HOME", "${localEnv:HOME}", "PLAIN", "value"))
+      .containerEnv(Map.of("WORKSPACE", "${containerWorkspaceFolder}"))
+      .workspaceMount("source=${localWorkspaceFolder},target=${containerWorkspaceFolder},type=bind")
+      .workspaceFolder("${containerWorkspaceFolder}")
+      .mounts(List.of(new Mount("source=${localEnv:HOME}/.ssh,target=/root/.ssh,type=bind", null)))
+      .runArgs(List.of("--cap-add=SYS_PTRACE", "--security-opt", "seccomp=unconfined"))
+      .create();
+
+  @Benchmark
+  public Devcontainer compiled() {
+    return devcontainer.resolve(SOURCE);
+  }
+
+  @Benchmark
+  public Devcontainer regex() {
+    return devcontainer.with(builder -> builder
+        .remoteEnv(Substitution.map(devcontainer.remoteEnv(), TemplateBenchmark::scan))
+        .containerEnv(Substitution.map(devcontainer.containerEnv(), TemplateBenchmark::scan))
+        .workspaceMount(scan(devcontainer.workspaceMount()))
+        .workspaceFolder(scan(devcontainer.workspaceFolder()))
+        .mounts(Substitution.list(devcontainer.mounts(), mount -> Substitution.mount(mount, TemplateBenchmark::scan)))
+        .runArgs(Substitution.list(devcontainer.runArgs(), TemplateBenchmark::scan)));
+  }
+
+  private static String scan(final String text) {
+    final Matcher matcher = VARIABLE.matcher(text);
+    return matcher.replaceAll(result -> {
+      final String value = SOURCE.lookup(result.group(1), result.group(2));
+      return Matcher.quoteReplacement(value == null ? result.group() : value);
+    });
+  }
+
+}
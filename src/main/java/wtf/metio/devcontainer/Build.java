@@ -41,4 +41,14 @@ public record Build(
         return BuildBuilder.builder();
     }
 
+    @Override
+    public int hashCode() {
+        return CachedHashes.hashCode(this);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other || other instanceof Build build && CachedHashes.equals(this, build);
+    }
+
 }
@@ -0,0 +1,48 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static wtf.metio.devcontainer.ValueReaders.list;
+import static wtf.metio.devcontainer.ValueReaders.map;
+import static wtf.metio.devcontainer.ValueReaders.string;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+
+final class BuildDeserializer extends RecordDeserializer<Build, BuildBuilder> {
+
+    BuildDeserializer() {
+        super(Build.class);
+    }
+
+    @Override
+    BuildBuilder builder() {
+        return Build.builder();
+    }
+
+    @Override
+    boolean property(final BuildBuilder builder, final String name, final JsonParser parser,
+            final DeserializationContext context) throws JacksonException {
+        switch (name) {
+            case "dockerfile" -> builder.dockerfile(string(parser, context));
+            case "context" -> builder.context(string(parser, context));
+            case "args" -> builder.args(map(parser, context, ValueReaders::string));
+            case "target" -> builder.target(string(parser, context));
+            case "cacheFrom" -> builder.cacheFrom(list(parser, context, ValueReaders::string));
+            case "options" -> builder.options(list(parser, context, ValueReaders::string));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    Build create(final BuildBuilder builder) {
+        return builder.create();
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.nio.file.Path;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicReference;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * Parses many files concurrently with a single shared reader. Every file is parsed on its own virtual thread, while a
+ * semaphore caps how many of them read from disk at the same time. Exceptions are captured per file, so one broken file
+ * never aborts the batch. Errors such as an {@link OutOfMemoryError} are not: once all other files were parsed, the
+ * first of them is rethrown to the caller.
+ */
+final class BulkParser {
+
+  private BulkParser() {
+    // utility class
+  }
+
+  static List<ParseResult> parseAll(final ObjectReader reader, final Collection<Path> paths, final int parallelism) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be positive but was " + parallelism);
+    }
+    final Path[] files = paths.toArray(Path[]::new);
+    final ParseResult[] results = new ParseResult[files.length];
+    final Semaphore permits = new Semaphore(parallelism);
+    final AtomicReference<Error> error = new AtomicReference<>();
+    // closing the executor waits for all submitted tasks, which publishes their results to this thread
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int index = 0; index < files.length; index++) {
+        final int slot = index;
+        // acquire before submitting so that at most 'parallelism' threads exist at once, not just run at once
+        permits.acquireUninterruptibly();
+        executor.execute(() -> {
+          try {
+            results[slot] = parse(reader, files[slot]);
+          } catch (final Error failure) {
+            error.compareAndSet(null, failure);
+          } finally {
+            permits.release();
+          }
+        });
+      }
+    }
+    if (error.get() != null) {
+      throw error.get();
+    }
+    return List.of(results);
+  }
+
+  static ParseResult parse(final ObjectReader reader, final Path path) {
+    try {
+      return ParseResult.success(path, reader.readValue(path));
+    } catch (final RuntimeException exception) {
+      return ParseResult.failure(path, exception);
+    }
+  }
+
+}
@@ -0,0 +1,87 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+/**
+ * Parses the size strings of {@code hostRequirements}, e.g. {@code "4gb"}, into bytes. The accepted syntax follows the
+ * devcontainer schema: a non-negative integer followed by an optional, case-insensitive {@code kb}, {@code mb},
+ * {@code gb}, or {@code tb} suffix. Units are binary, so {@code 1kb} is 1024 bytes.
+ * <p>
+ * The byte counts exposed by {@link HostRequirements} and {@link GpuRequirements} are parsed once per distinct string
+ * and shared afterwards, since a fleet of configurations repeats a handful of sizes like {@code "8gb"}.
+ */
+public final class ByteSize {
+
+    /**
+     * Returned for absent sizes, so that any host satisfies them in a {@code >=} comparison.
+     */
+    public static final long UNSET = -1L;
+
+    static final InternTable<String, Long> PARSED = new InternTable<>(1024, ByteSize::parse);
+
+    private ByteSize() {
+        // utility class
+    }
+
+    /**
+     * Parses a size string into bytes. Parsing does not allocate.
+     *
+     * @param size The size string to parse.
+     * @return The number of bytes, or {@link #UNSET} if the given size is {@code null}.
+     * @throws IllegalArgumentException If the size does not match the schema or does not fit into a {@code long}.
+     */
+    public static long parse(final String size) {
+        if (size == null) {
+            return UNSET;
+        }
+        final int digits = digits(size);
+        final int shift = shift(size, digits);
+        if (digits == 0 || shift < 0) {
+            throw new IllegalArgumentException("Invalid size: " + size);
+        }
+        final long limit = Long.MAX_VALUE >> shift;
+        long value = 0;
+        for (int index = 0; index < digits; index++) {
+            final int digit = size.charAt(index) - '0';
+            if (value > (limit - digit) / 10) {
+                throw new IllegalArgumentException("Size too large: " + size);
+            }
+            value = value * 10 + digit;
+        }
+        return value << shift;
+    }
+
+    // invalid sizes are not cached, so they fail on every access just like parse() does
+    static long cached(final String size) {
+        return size == null ? UNSET : PARSED.get(size);
+    }
+
+    private static int digits(final String size) {
+        int index = 0;
+        while (index < size.length() && size.charAt(index) >= '0' && size.charAt(index) <= '9') {
+            index++;
+        }
+        return index;
+    }
+
+    // the binary exponent of the unit that starts at the given index, or -1 for anything but a known unit
+    private static int shift(final String size, final int start) {
+        final int length = size.length() - start;
+        if (length == 0) {
+            return 0;
+        }
+        if (length != 2 || Character.toLowerCase(size.charAt(start + 1)) != 'b') {
+            return -1;
+        }
+        return switch (Character.toLowerCase(size.charAt(start))) {
+            case 'k' -> 10;
+            case 'm' -> 20;
+            case 'g' -> 30;
+            case 't' -> 40;
+            default -> -1;
+        };
+    }
+
+}
@@ -0,0 +1,29 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+/**
+ * A point-in-time snapshot of the counters of a {@link DevcontainerCache}.
+ *
+ * @param hits      The number of lookups answered from the cache, either because size and modification time were
+ *                  unchanged or because the content hash matched.
+ * @param misses    The number of lookups that had to parse the file.
+ * @param evictions The number of entries removed to keep the cache within its maximum size.
+ */
+public record CacheStats(
+    long hits,
+    long misses,
+    long evictions) {
+
+  public long requests() {
+    return hits + misses;
+  }
+
+  public double hitRate() {
+    final long requests = requests();
+    return requests == 0 ? 1.0 : (double) hits / requests;
+  }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.Objects;
+
+/**
+ * Implements {@code hashCode} and {@code equals} for records with large component graphs. The hash of each instance is
+ * computed once and remembered by identity, and {@code equals} only compares components if both hashes match. Since
+ * the hash is never computed again, the lists and maps of such a record must not be modified after it was hashed.
+ */
+final class CachedHashes {
+
+  private static final IdentityCache<Record, Integer> HASHES = new IdentityCache<>();
+
+  private CachedHashes() {
+    // utility class
+  }
+
+  static int hashCode(final Record record) {
+    return HASHES.get(record, CachedHashes::structuralHashCode);
+  }
+
+  // whether the hash of the record was computed and is still remembered
+  static boolean cached(final Record record) {
+    return HASHES.entry(record) != null;
+  }
+
+  // both records are of the same type, which callers check with instanceof since records are final
+  static boolean equals(final Record record, final Record other) {
+    if (hashCode(record) != hashCode(other)) {
+      return false;
+    }
+    for (final RecordAccessor component : RecordAccessor.of(record.getClass())) {
+      if (!Objects.equals(component.get(record), component.get(other))) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  static int structuralHashCode(final Record record) {
+    int hash = 0;
+    for (final RecordAccessor component : RecordAccessor.of(record.getClass())) {
+      hash = 31 * hash + Objects.hashCode(component.get(record));
+    }
+    return hash;
+  }
+
+}
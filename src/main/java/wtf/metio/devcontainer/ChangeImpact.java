@@ -0,0 +1,35 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+/**
+ * What it takes to apply a change of a devcontainer.json file to a running devcontainer, from cheapest to most
+ * expensive.
+ *
+ * @see DevcontainerDiff
+ */
+public enum ChangeImpact {
+
+  /**
+   * Nothing needs to happen to the container, e.g. for a changed {@code name} or {@code customizations}.
+   */
+  none,
+
+  /**
+   * The container keeps running, but start and attach time settings and commands have to be applied again.
+   */
+  restart,
+
+  /**
+   * The container has to be created again from the existing image.
+   */
+  recreate,
+
+  /**
+   * The image has to be built again.
+   */
+  rebuild,
+
+}
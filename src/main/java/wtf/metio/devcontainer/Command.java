@@ -31,4 +31,14 @@ public record Command(
         return CommandBuilder.builder();
     }
 
+    @Override
+    public int hashCode() {
+        return CachedHashes.hashCode(this);
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+        return this == other || other instanceof Command command && CachedHashes.equals(this, command);
+    }
+
 }
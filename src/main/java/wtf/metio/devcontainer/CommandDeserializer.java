@@ -4,17 +4,17 @@
  */
 package wtf.metio.devcontainer;
 
-import java.util.List;
-import java.util.Map;
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
 import tools.jackson.databind.DeserializationContext;
-import tools.jackson.databind.JavaType;
-import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.deser.std.StdDeserializer;
 import tools.jackson.databind.exc.MismatchedInputException;
-import tools.jackson.databind.node.StringNode;
 
+/**
+ * Reads a {@link Command} straight from the token stream. The current token decides which form is used, so no
+ * intermediate tree is built and the object form recurses into this deserializer for each of its entries.
+ */
 public final class CommandDeserializer extends StdDeserializer<Command> {
 
     public CommandDeserializer() {
@@ -28,15 +28,13 @@ public final class CommandDeserializer extends StdDeserializer<Command> {
     @Override
     public Command deserialize(final JsonParser parser, final DeserializationContext context)
             throws JacksonException {
-        final JsonNode node = context.readTree(parser);
-        if (node instanceof StringNode stringNode) {
-            return new Command(stringNode.stringValue(), null, null);
-        } else if (node.isArray()) {
-            final JavaType type = context.getTypeFactory().constructCollectionType(List.class, String.class);
-            return new Command(null, context.readTreeAsValue(node, type), null);
-        } else if (node.isObject()) {
-            final JavaType type = context.getTypeFactory().constructMapType(Map.class, String.class, Command.class);
-            return new Command(null, null, context.readTreeAsValue(node, type));
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return new Command(parser.getString(), null, null);
+        } else if (token == JsonToken.START_ARRAY) {
+            return new Command(null, ValueReaders.list(parser, context, ValueReaders::string), null);
+        } else if (token == JsonToken.START_OBJECT || token == JsonToken.PROPERTY_NAME) {
+            return new Command(null, null, ValueReaders.map(parser, context, this::deserialize));
         }
 
         throw MismatchedInputException.from(parser, Command.class, "Cannot deserialize given input to Command");
@@ -0,0 +1,22 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+/**
+ * Runs the commands of a {@link LifecyclePlan}, e.g. on the host for {@code initializeCommand} and inside the container
+ * for all others.
+ */
+@FunctionalInterface
+public interface CommandExecutor {
+
+  /**
+   * Runs a single step and returns once it finished.
+   *
+   * @param step The step to run.
+   * @throws Exception If the command could not be run or failed. Later stages are skipped.
+   */
+  void execute(LifecycleStep step) throws Exception;
+
+}
@@ -6,12 +6,25 @@ package wtf.metio.devcontainer;
 
 import io.soabase.recordbuilder.core.RecordBuilder;
 import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.RecordComponent;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Collection;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import tools.jackson.core.exc.JacksonIOException;
 import tools.jackson.databind.DeserializationFeature;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
 import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.util.ByteBufferBackedInputStream;
 
 /**
  * @param name                        A name for the dev container displayed in the UI.
@@ -227,7 +240,7 @@ public record Devcontainer(
     HostRequirements hostRequirements) implements DevcontainerBuilder.With {
 
   public static Devcontainer parse(final Path devcontainer) {
-    return parse(devcontainer, defaultObjectMapper());
+    return reader().readValue(devcontainer);
   }
 
   public static Devcontainer parse(final Path devcontainer, final ObjectMapper objectMapper) {
@@ -235,7 +248,7 @@ public record Devcontainer(
   }
 
   public static Devcontainer parse(final File devcontainer) {
-    return parse(devcontainer, defaultObjectMapper());
+    return reader().readValue(devcontainer);
   }
 
   public static Devcontainer parse(final File devcontainer, final ObjectMapper objectMapper) {
@@ -243,17 +256,175 @@ public record Devcontainer(
   }
 
   public static Devcontainer parse(final String devcontainer) {
-    return parse(devcontainer, defaultObjectMapper());
+    return reader().readValue(devcontainer);
   }
 
   public static Devcontainer parse(final String devcontainer, final ObjectMapper objectMapper) {
     return objectMapper.readValue(devcontainer, Devcontainer.class);
   }
 
+  public static Devcontainer parse(final byte[] devcontainer) {
+    return reader().readValue(devcontainer);
+  }
+
+  public static Devcontainer parse(final byte[] devcontainer, final ObjectMapper objectMapper) {
+    return objectMapper.readValue(devcontainer, Devcontainer.class);
+  }
+
+  public static Devcontainer parse(final byte[] devcontainer, final int offset, final int length) {
+    return reader().readValue(devcontainer, offset, length);
+  }
+
+  public static Devcontainer parse(final byte[] devcontainer, final int offset, final int length,
+      final ObjectMapper objectMapper) {
+    return objectMapper.readValue(devcontainer, offset, length, Devcontainer.class);
+  }
+
+  public static Devcontainer parse(final InputStream devcontainer) {
+    return reader().readValue(devcontainer);
+  }
+
+  public static Devcontainer parse(final InputStream devcontainer, final ObjectMapper objectMapper) {
+    return objectMapper.readValue(devcontainer, Devcontainer.class);
+  }
+
+  /**
+   * Parses the remaining bytes of the given buffer as UTF-8 encoded JSON. Heap buffers are read in place through their
+   * backing array, direct buffers are streamed. The position of the given buffer is left untouched.
+   *
+   * @param devcontainer The buffer holding the devcontainer.json content.
+   * @return The parsed devcontainer.
+   */
+  public static Devcontainer parse(final ByteBuffer devcontainer) {
+    return read(reader(), devcontainer);
+  }
+
+  public static Devcontainer parse(final ByteBuffer devcontainer, final ObjectMapper objectMapper) {
+    return read(objectMapper.readerFor(Devcontainer.class), devcontainer);
+  }
+
+  /**
+   * Parses the given file through a read-only memory mapping instead of a sequence of read calls. Mapping has a fixed
+   * setup cost that only pays off for large files; prefer {@link #parse(Path)} for typical devcontainer.json files.
+   *
+   * @param devcontainer The path to the devcontainer.json file.
+   * @return The parsed devcontainer.
+   */
+  public static Devcontainer parseMapped(final Path devcontainer) {
+    return read(reader(), mapFile(devcontainer));
+  }
+
+  public static Devcontainer parseMapped(final Path devcontainer, final ObjectMapper objectMapper) {
+    return read(objectMapper.readerFor(Devcontainer.class), mapFile(devcontainer));
+  }
+
+  /**
+   * Returns {@link #forwardPorts()} split into hosts and port numbers. Parsed files hand out the instance created while
+   * reading the file, so repeated calls neither allocate nor split strings.
+   *
+   * @return The parsed forwarded ports, or {@code null} if none are set.
+   */
+  public Ports parsedForwardPorts() {
+    return Ports.of(forwardPorts);
+  }
+
+  public Ports parsedAppPort() {
+    return Ports.of(appPort);
+  }
+
+  /**
+   * Resolves the variables in {@link #remoteEnv()}, {@link #containerEnv()}, {@link #workspaceMount()},
+   * {@link #workspaceFolder()}, {@link #mounts()}, and {@link #runArgs()}. Each string is compiled into a
+   * {@link Template} once and reused for every further source, and strings without variables are kept as they are.
+   *
+   * @param source The source of the variable values.
+   * @return A copy of this devcontainer with all variables of these properties resolved.
+   */
+  public Devcontainer resolve(final VariableSource source) {
+    return Substitution.resolve(this, source);
+  }
+
+  /**
+   * Parses all given files concurrently with the shared {@link #reader()}, allowing as many files to be read at once as
+   * there are available processors.
+   *
+   * @param devcontainers The paths to the devcontainer.json files.
+   * @return One result per path, in iteration order of the given collection.
+   * @see #parseAll(Collection, int)
+   */
+  public static List<ParseResult> parseAll(final Collection<Path> devcontainers) {
+    return parseAll(devcontainers, Runtime.getRuntime().availableProcessors());
+  }
+
+  /**
+   * Parses all given files on virtual threads, with at most {@code parallelism} files being read at the same time.
+   * Failing files do not abort the batch; their exception is returned in the corresponding {@link ParseResult}.
+   *
+   * @param devcontainers The paths to the devcontainer.json files.
+   * @param parallelism   The maximum number of files to parse concurrently.
+   * @return One result per path, in iteration order of the given collection.
+   */
+  public static List<ParseResult> parseAll(final Collection<Path> devcontainers, final int parallelism) {
+    return BulkParser.parseAll(reader(), devcontainers, parallelism);
+  }
+
+  public static List<ParseResult> parseAll(final Collection<Path> devcontainers, final int parallelism,
+      final ObjectMapper objectMapper) {
+    return BulkParser.parseAll(objectMapper.readerFor(Devcontainer.class), devcontainers, parallelism);
+  }
+
+  /**
+   * Returns the reader shared by all parse methods that do not accept an {@link ObjectMapper}. The reader is created
+   * from {@link #defaultObjectMapper()} on first use and keeps the deserializers it resolved for this record and its
+   * nested records, so repeated parsing skips the introspection a fresh mapper would have to do. Readers are immutable
+   * and thread-safe; use its {@code with(...)} methods to derive a reader with different settings.
+   *
+   * @return The shared reader for {@link Devcontainer} values.
+   */
+  public static ObjectReader reader() {
+    return DefaultReader.INSTANCE;
+  }
+
+  /**
+   * Returns a reader derived from {@link #reader()} that only deserializes the given components. The JSON values of all
+   * other properties are skipped token by token, which saves most of the work for large configurations when only a few
+   * components are needed. Components that were not requested are {@code null} in the parsed record.
+   *
+   * @param components The names of the record components to read, e.g. {@code "image"} or {@code "features"}.
+   * @return A reader for {@link Devcontainer} values that only reads the given components.
+   * @throws IllegalArgumentException If a name is not a component of this record.
+   */
+  public static ObjectReader projectingReader(final String... components) {
+    final Set<String> projection = Set.copyOf(List.of(components));
+    for (final String component : projection) {
+      if (!Components.NAMES.contains(component)) {
+        throw new IllegalArgumentException("Unknown devcontainer component: " + component);
+      }
+    }
+    return reader().withAttribute(DevcontainerModule.PROJECTION, projection);
+  }
+
+  /**
+   * Returns a reader derived from {@link #reader()} that passes every parsed devcontainer through the
+   * {@link DevcontainerInterner#shared() shared} interning pool. Image names, feature IDs and options, the names and
+   * values of environment variables, mounts, and port attributes that repeat across files then reference the same
+   * instance instead of one copy per file, which lowers the retained heap of large in-memory indexes.
+   *
+   * @return A reader for {@link Devcontainer} values that shares repeated values across parses.
+   */
+  public static ObjectReader interningReader() {
+    return interningReader(DevcontainerInterner.shared());
+  }
+
+  public static ObjectReader interningReader(final DevcontainerInterner interner) {
+    return reader().withAttribute(DevcontainerModule.INTERNING, interner);
+  }
+
   public static ObjectMapper defaultObjectMapper() {
     return JsonMapper.builder()
         .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
         .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+        .addModule(new DevcontainerModule())
         .build();
   }
 
@@ -261,4 +432,58 @@ public record Devcontainer(
     return DevcontainerBuilder.builder();
   }
 
+  /**
+   * Returns the hash of all components, computed on the first call for this instance and cached afterwards, just like
+   * the hashes of {@link Build} and {@link Command}. Since a cached hash is never updated, the lists and maps of a
+   * devcontainer, its build, and its commands must not be modified once it was hashed, e.g. by adding it to a
+   * {@code HashSet}; create a changed copy through the builder instead.
+   *
+   * @return The hash code of this devcontainer.
+   */
+  @Override
+  public int hashCode() {
+    return CachedHashes.hashCode(this);
+  }
+
+  /**
+   * Compares all components, but only once the instances are not identical and their cached hashes match.
+   *
+   * @param other The object to compare with.
+   * @return Whether the other object is a devcontainer with equal components.
+   */
+  @Override
+  public boolean equals(final Object other) {
+    return this == other || other instanceof Devcontainer devcontainer && CachedHashes.equals(this, devcontainer);
+  }
+
+  private static Devcontainer read(final ObjectReader reader, final ByteBuffer buffer) {
+    if (buffer.hasArray()) {
+      return reader.readValue(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+    }
+    return reader.readValue(new ByteBufferBackedInputStream(buffer.duplicate()));
+  }
+
+  private static ByteBuffer mapFile(final Path devcontainer) {
+    try (FileChannel channel = FileChannel.open(devcontainer, StandardOpenOption.READ)) {
+      return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+    } catch (final IOException exception) {
+      throw JacksonIOException.construct(exception);
+    }
+  }
+
+  private static final class Components {
+
+    private static final Set<String> NAMES = Arrays.stream(Devcontainer.class.getRecordComponents())
+        .map(RecordComponent::getName)
+        .collect(Collectors.toUnmodifiableSet());
+
+  }
+
+  // initialization-on-demand holder: the JVM creates the reader once, on first access, without further locking
+  private static final class DefaultReader {
+
+    private static final ObjectReader INSTANCE = defaultObjectMapper().readerFor(Devcontainer.class);
+
+  }
+
 }
@@ -0,0 +1,172 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import tools.jackson.core.exc.JacksonIOException;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * An opt-in cache for parsed devcontainer.json files. Entries are keyed by the normalized absolute path and validated
+ * against the size and last modification time of the file, which costs a single {@code stat} call on a hit. If either
+ * of them changed, the file is read and its SHA-256 hash compared with the one of the cached content, so touching a
+ * file or checking it out again does not cause it to be parsed again. Since the records are immutable, a hit returns
+ * the very same instance that was parsed before.
+ * <p>
+ * The cache holds at most {@code maximumSize} entries and evicts the least recently used entry first. It is safe for
+ * concurrent use; files are read and parsed outside the lock, so concurrent misses for the same path may parse it more
+ * than once. A file rewritten with the same size within the timestamp granularity of its file system is not detected.
+ */
+public final class DevcontainerCache {
+
+  private static final String ALGORITHM = "SHA-256";
+
+  private final ObjectReader reader;
+  private final LeastRecentlyUsed entries;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+  private final LongAdder evictions = new LongAdder();
+
+  /**
+   * Creates a cache that parses with the shared {@link Devcontainer#reader()}.
+   *
+   * @param maximumSize The maximum number of files to keep.
+   */
+  public DevcontainerCache(final int maximumSize) {
+    this(maximumSize, Devcontainer.reader());
+  }
+
+  public DevcontainerCache(final int maximumSize, final ObjectMapper objectMapper) {
+    this(maximumSize, objectMapper.readerFor(Devcontainer.class));
+  }
+
+  private DevcontainerCache(final int maximumSize, final ObjectReader reader) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("maximumSize must be positive but was " + maximumSize);
+    }
+    this.reader = reader;
+    this.entries = new LeastRecentlyUsed(maximumSize, evictions);
+  }
+
+  /**
+   * Returns the cached devcontainer for the given file, parsing it only if its content changed since it was cached.
+   *
+   * @param devcontainer The path to the devcontainer.json file.
+   * @return The parsed devcontainer.
+   */
+  public Devcontainer parse(final Path devcontainer) {
+    final Path key = devcontainer.toAbsolutePath().normalize();
+    try {
+      final BasicFileAttributes attributes = Files.readAttributes(key, BasicFileAttributes.class);
+      final Entry cached = lookup(key);
+      if (cached != null && cached.matches(attributes)) {
+        hits.increment();
+        return cached.devcontainer();
+      }
+      final byte[] content = Files.readAllBytes(key);
+      final byte[] hash = digest(ALGORITHM).digest(content);
+      if (cached != null && Arrays.equals(cached.hash(), hash)) {
+        hits.increment();
+        store(key, new Entry(attributes.size(), attributes.lastModifiedTime(), hash, cached.devcontainer()));
+        return cached.devcontainer();
+      }
+      misses.increment();
+      final Devcontainer parsed = reader.readValue(content);
+      store(key, new Entry(attributes.size(), attributes.lastModifiedTime(), hash, parsed));
+      return parsed;
+    } catch (final IOException exception) {
+      throw JacksonIOException.construct(exception);
+    }
+  }
+
+  public void invalidate(final Path devcontainer) {
+    final Path key = devcontainer.toAbsolutePath().normalize();
+    synchronized (entries) {
+      entries.remove(key);
+    }
+  }
+
+  public void invalidateAll() {
+    synchronized (entries) {
+      entries.clear();
+    }
+  }
+
+  public int size() {
+    synchronized (entries) {
+      return entries.size();
+    }
+  }
+
+  public CacheStats stats() {
+    return new CacheStats(hits.sum(), misses.sum(), evictions.sum());
+  }
+
+  private Entry lookup(final Path key) {
+    synchronized (entries) {
+      return entries.get(key);
+    }
+  }
+
+  private void store(final Path key, final Entry entry) {
+    synchronized (entries) {
+      entries.put(key, entry);
+    }
+  }
+
+  // SHA-256 is mandatory for every Java platform, so the exception only signals a broken runtime
+  static MessageDigest digest(final String algorithm) {
+    try {
+      return MessageDigest.getInstance(algorithm);
+    } catch (final NoSuchAlgorithmException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  // access ordered, so iteration starts at the least recently read entry, which is the one removed when full
+  private static final class LeastRecentlyUsed extends LinkedHashMap<Path, Entry> {
+
+    private static final long serialVersionUID = 1L;
+
+    private final int maximumSize;
+    private final LongAdder evictions;
+
+    private LeastRecentlyUsed(final int maximumSize, final LongAdder evictions) {
+      super(16, 0.75f, true);
+      this.maximumSize = maximumSize;
+      this.evictions = evictions;
+    }
+
+    @Override
+    protected boolean removeEldestEntry(final Map.Entry<Path, Entry> eldest) {
+      final boolean full = size() > maximumSize;
+      if (full) {
+        evictions.increment();
+      }
+      return full;
+    }
+
+  }
+
+  private record Entry(long size, FileTime lastModified, byte[] hash, Devcontainer devcontainer) {
+
+    boolean matches(final BasicFileAttributes attributes) {
+      return size == attributes.size() && lastModified.equals(attributes.lastModifiedTime());
+    }
+
+  }
+
+}
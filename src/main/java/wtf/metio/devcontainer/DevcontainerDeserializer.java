@@ -0,0 +1,129 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static wtf.metio.devcontainer.ValueReaders.bool;
+import static wtf.metio.devcontainer.ValueReaders.interned;
+import static wtf.metio.devcontainer.ValueReaders.list;
+import static wtf.metio.devcontainer.ValueReaders.map;
+import static wtf.metio.devcontainer.ValueReaders.mapOf;
+import static wtf.metio.devcontainer.ValueReaders.nullable;
+import static wtf.metio.devcontainer.ValueReaders.ports;
+import static wtf.metio.devcontainer.ValueReaders.string;
+import static wtf.metio.devcontainer.ValueReaders.value;
+
+import java.util.Map;
+import java.util.Set;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.exc.MismatchedInputException;
+import tools.jackson.databind.util.TokenBuffer;
+
+final class DevcontainerDeserializer extends RecordDeserializer<Devcontainer, DevcontainerBuilder> {
+
+    private final ValueReader<PortAttribute> portAttributes = new PortAttributeDeserializer()::deserialize;
+    private final ValueReader<Mount> mounts = new MountDeserializer()::deserialize;
+    private final ValueReader<Secret> secrets = new SecretDeserializer()::deserialize;
+    private final ValueReader<Build> builds = new BuildDeserializer()::deserialize;
+    private final ValueReader<Command> commands = new CommandDeserializer()::deserialize;
+    private final ValueReader<HostRequirements> hostRequirements = new HostRequirementsDeserializer()::deserialize;
+
+    DevcontainerDeserializer() {
+        super(Devcontainer.class);
+    }
+
+    @Override
+    DevcontainerBuilder builder() {
+        return Devcontainer.builder();
+    }
+
+    @Override
+    Set<?> projection(final DeserializationContext context) {
+        return (Set<?>) context.getAttribute(DevcontainerModule.PROJECTION);
+    }
+
+    @Override
+    boolean property(final DevcontainerBuilder builder, final String name, final JsonParser parser,
+            final DeserializationContext context) throws JacksonException {
+        switch (name) {
+            case "name" -> builder.name(string(parser, context));
+            case "forwardPorts" -> builder.forwardPorts(ports(parser, context));
+            case "portsAttributes" -> builder.portsAttributes(map(parser, context, portAttributes));
+            case "otherPortsAttributes" -> builder.otherPortsAttributes(nullable(parser, context, portAttributes));
+            case "remoteEnv" -> builder.remoteEnv(map(parser, context, ValueReaders::interned));
+            case "remoteUser" -> builder.remoteUser(string(parser, context));
+            case "containerEnv" -> builder.containerEnv(map(parser, context, ValueReaders::interned));
+            case "containerUser" -> builder.containerUser(string(parser, context));
+            case "updateRemoteUserUID" -> builder.updateRemoteUserUID(bool(parser, context));
+            case "userEnvProbe" -> builder.userEnvProbe(value(parser, context, UserEnvProbe.class));
+            case "overrideCommand" -> builder.overrideCommand(bool(parser, context));
+            case "shutdownAction" -> builder.shutdownAction(value(parser, context, ShutdownAction.class));
+            case "init" -> builder.init(bool(parser, context));
+            case "privileged" -> builder.privileged(bool(parser, context));
+            case "capAdd" -> builder.capAdd(list(parser, context, ValueReaders::string));
+            case "securityOpt" -> builder.securityOpt(list(parser, context, ValueReaders::string));
+            case "mounts" -> builder.mounts(list(parser, context, mounts));
+            case "features" -> builder.features(map(parser, context, mapOf(ValueReaders::interned)));
+            case "overrideFeatureInstallOrder" ->
+                    builder.overrideFeatureInstallOrder(list(parser, context, ValueReaders::string));
+            case "secrets" -> builder.secrets(map(parser, context, secrets));
+            case "customizations" -> builder.customizations(map(parser, context, customizations(context)));
+            case "image" -> builder.image(interned(parser, context));
+            case "build" -> builder.build(nullable(parser, context, builds));
+            case "appPort" -> builder.appPort(ports(parser, context));
+            case "workspaceMount" -> builder.workspaceMount(string(parser, context));
+            case "workspaceFolder" -> builder.workspaceFolder(string(parser, context));
+            case "runArgs" -> builder.runArgs(list(parser, context, ValueReaders::string));
+            case "dockerComposeFile" -> builder.dockerComposeFile(list(parser, context, ValueReaders::string));
+            case "service" -> builder.service(string(parser, context));
+            case "runServices" -> builder.runServices(list(parser, context, ValueReaders::string));
+            case "initializeCommand" -> builder.initializeCommand(nullable(parser, context, commands));
+            case "onCreateCommand" -> builder.onCreateCommand(nullable(parser, context, commands));
+            case "updateContentCommand" -> builder.updateContentCommand(nullable(parser, context, commands));
+            case "postCreateCommand" -> builder.postCreateCommand(nullable(parser, context, commands));
+            case "postStartCommand" -> builder.postStartCommand(nullable(parser, context, commands));
+            case "postAttachCommand" -> builder.postAttachCommand(nullable(parser, context, commands));
+            case "waitFor" -> builder.waitFor(value(parser, context, WaitFor.class));
+            case "hostRequirements" -> builder.hostRequirements(nullable(parser, context, hostRequirements));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    Devcontainer create(final DevcontainerBuilder builder) {
+        return builder.create();
+    }
+
+    private static ValueReader<Map<String, Object>> customizations(final DeserializationContext context) {
+        if (Boolean.TRUE.equals(context.getAttribute(DevcontainerModule.LAZY_CUSTOMIZATIONS))) {
+            return DevcontainerDeserializer::lazy;
+        }
+        return DevcontainerDeserializer::untyped;
+    }
+
+    // null values never reach this reader, and anything else than an object would fail eager binding as well
+    private static Map<String, Object> lazy(final JsonParser parser, final DeserializationContext context)
+            throws JacksonException {
+        if (parser.currentToken() != JsonToken.START_OBJECT) {
+            throw MismatchedInputException.from(parser, Map.class, "Cannot deserialize given input to Map");
+        }
+        final TokenBuffer tokens = context.bufferForInputBuffering(parser);
+        tokens.copyCurrentStructure(parser);
+        return new LazyCustomization(tokens, context.getConfig());
+    }
+
+    // tool specific settings have no schema, so they are bound like any untyped JSON object
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> untyped(final JsonParser parser, final DeserializationContext context)
+            throws JacksonException {
+        return value(parser, context, Map.class);
+    }
+
+}
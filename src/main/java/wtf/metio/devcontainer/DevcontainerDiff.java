@@ -0,0 +1,160 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The differences between two versions of a devcontainer and what it takes to apply them.
+ * <p>
+ * All components are compared structurally: records component by component, maps key by key, and lists index by index.
+ * Values that are the same instance in both versions are skipped without looking inside, so comparing a devcontainer
+ * with a copy made through its withers only visits the changed components.
+ *
+ * @param impact The most expensive impact of all changed components.
+ * @param paths  The changed values, e.g. {@code build.dockerfile}, {@code containerEnv.JAVA_HOME}, or
+ *               {@code mounts[1]}, in component order.
+ */
+public record DevcontainerDiff(
+    ChangeImpact impact,
+    List<String> paths) {
+
+  static final Map<String, ChangeImpact> IMPACTS = Map.ofEntries(
+      Map.entry("name", ChangeImpact.none),
+      Map.entry("forwardPorts", ChangeImpact.none),
+      Map.entry("portsAttributes", ChangeImpact.none),
+      Map.entry("otherPortsAttributes", ChangeImpact.none),
+      Map.entry("shutdownAction", ChangeImpact.none),
+      Map.entry("secrets", ChangeImpact.none),
+      Map.entry("customizations", ChangeImpact.none),
+      Map.entry("waitFor", ChangeImpact.none),
+      Map.entry("remoteEnv", ChangeImpact.restart),
+      Map.entry("remoteUser", ChangeImpact.restart),
+      Map.entry("userEnvProbe", ChangeImpact.restart),
+      Map.entry("initializeCommand", ChangeImpact.restart),
+      Map.entry("postStartCommand", ChangeImpact.restart),
+      Map.entry("postAttachCommand", ChangeImpact.restart),
+      Map.entry("containerEnv", ChangeImpact.recreate),
+      Map.entry("containerUser", ChangeImpact.recreate),
+      Map.entry("overrideCommand", ChangeImpact.recreate),
+      Map.entry("init", ChangeImpact.recreate),
+      Map.entry("privileged", ChangeImpact.recreate),
+      Map.entry("capAdd", ChangeImpact.recreate),
+      Map.entry("securityOpt", ChangeImpact.recreate),
+      Map.entry("mounts", ChangeImpact.recreate),
+      Map.entry("appPort", ChangeImpact.recreate),
+      Map.entry("workspaceMount", ChangeImpact.recreate),
+      Map.entry("workspaceFolder", ChangeImpact.recreate),
+      Map.entry("runArgs", ChangeImpact.recreate),
+      Map.entry("service", ChangeImpact.recreate),
+      Map.entry("runServices", ChangeImpact.recreate),
+      Map.entry("onCreateCommand", ChangeImpact.recreate),
+      Map.entry("updateContentCommand", ChangeImpact.recreate),
+      Map.entry("postCreateCommand", ChangeImpact.recreate),
+      Map.entry("hostRequirements", ChangeImpact.recreate),
+      Map.entry("image", ChangeImpact.rebuild),
+      Map.entry("build", ChangeImpact.rebuild),
+      Map.entry("features", ChangeImpact.rebuild),
+      Map.entry("overrideFeatureInstallOrder", ChangeImpact.rebuild),
+      Map.entry("updateRemoteUserUID", ChangeImpact.rebuild),
+      Map.entry("dockerComposeFile", ChangeImpact.rebuild));
+
+  /**
+   * Compares two versions of a devcontainer.
+   *
+   * @param previous The devcontainer before the change.
+   * @param current  The devcontainer after the change.
+   * @return The differences, with an impact of {@link ChangeImpact#none} and no paths if both are equal.
+   */
+  public static DevcontainerDiff of(final Devcontainer previous, final Devcontainer current) {
+    ChangeImpact impact = ChangeImpact.none;
+    final List<String> paths = new ArrayList<>();
+    if (previous != current) {
+      final StringBuilder path = new StringBuilder();
+      for (final RecordAccessor accessor : RecordAccessor.of(Devcontainer.class)) {
+        final int before = paths.size();
+        path.setLength(0);
+        diff(path.append(accessor.name()), accessor.get(previous), accessor.get(current), paths);
+        if (paths.size() > before) {
+          impact = max(impact, impact(accessor.name()));
+        }
+      }
+    }
+    return new DevcontainerDiff(impact, List.copyOf(paths));
+  }
+
+  public boolean changed() {
+    return !paths.isEmpty();
+  }
+
+  // components added in later versions of the specification are treated conservatively until classified
+  static ChangeImpact impact(final String component) {
+    return IMPACTS.getOrDefault(component, ChangeImpact.rebuild);
+  }
+
+  private static ChangeImpact max(final ChangeImpact first, final ChangeImpact second) {
+    return first.compareTo(second) >= 0 ? first : second;
+  }
+
+  // the path is shared by the whole walk, each level appends its segment and removes it again
+  private static void diff(final StringBuilder path, final Object previous, final Object current,
+      final List<String> paths) {
+    if (previous == current) {
+      return;
+    }
+    final int length = path.length();
+    if (previous instanceof Record && current != null && previous.getClass() == current.getClass()) {
+      for (final RecordAccessor accessor : RecordAccessor.of(previous.getClass())) {
+        diff(path.append('.').append(accessor.name()), accessor.get(previous), accessor.get(current), paths);
+        path.setLength(length);
+      }
+    } else if (previous instanceof Map<?, ?> before && current instanceof Map<?, ?> after) {
+      maps(path, before, after, paths);
+    } else if (previous instanceof List<?> before && current instanceof List<?> after) {
+      lists(path, before, after, paths);
+    } else if (previous == null || !previous.equals(current)) {
+      paths.add(path.toString());
+    }
+  }
+
+  private static void maps(final StringBuilder path, final Map<?, ?> previous, final Map<?, ?> current,
+      final List<String> paths) {
+    final int length = path.length();
+    // keys present on one side only are changes even if their value is null, so both loops check for the key
+    previous.forEach((key, value) -> {
+      path.append('.').append(key);
+      if (current.containsKey(key)) {
+        diff(path, value, current.get(key), paths);
+      } else {
+        paths.add(path.toString());
+      }
+      path.setLength(length);
+    });
+    current.forEach((key, value) -> {
+      if (!previous.containsKey(key)) {
+        paths.add(path.append('.').append(key).toString());
+        path.setLength(length);
+      }
+    });
+  }
+
+  private static void lists(final StringBuilder path, final List<?> previous, final List<?> current,
+      final List<String> paths) {
+    final int length = path.length();
+    final int size = Math.max(previous.size(), current.size());
+    for (int index = 0; index < size; index++) {
+      path.append('[').append(index).append(']');
+      if (index < previous.size() && index < current.size()) {
+        diff(path, previous.get(index), current.get(index), paths);
+      } else {
+        paths.add(path.toString());
+      }
+      path.setLength(length);
+    }
+  }
+
+}
@@ -0,0 +1,239 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.math.BigDecimal;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * A SHA-256 fingerprint over selected components of a devcontainer, e.g. for build cache keys. The record graph is fed
+ * into the digest directly in a canonical encoding: map entries are sorted by key, absent and {@code null} values are
+ * skipped, and numbers compare by their decimal value regardless of their Java type, e.g. {@code 1}, {@code 1L},
+ * {@code 1.0}, and {@code new BigDecimal("1.00")} are all encoded alike. Two devcontainers that only differ in the
+ * order of their map entries therefore share a fingerprint.
+ * <p>
+ * Fingerprints are memoized per devcontainer instance, so looking one up again costs a single identity lookup. Since
+ * records are compared by identity only, the lists and maps of a fingerprinted devcontainer must not be modified.
+ */
+public final class DevcontainerFingerprint {
+
+  /**
+   * The components that determine the image of a devcontainer.
+   */
+  public static final Set<String> BUILD_COMPONENTS = Set.of("image", "build", "features",
+      "overrideFeatureInstallOrder");
+
+  private static final DevcontainerFingerprint BUILD = new DevcontainerFingerprint(BUILD_COMPONENTS);
+
+  private static final byte NULL = 0;
+  private static final byte STRING = 1;
+  private static final byte TRUE = 2;
+  private static final byte FALSE = 3;
+  private static final byte INTEGER = 4;
+  private static final byte NUMBER = 5;
+  private static final byte RECORD = 6;
+  private static final byte MAP = 7;
+  private static final byte LIST = 8;
+  private static final byte OTHER = 9;
+  private static final byte END = 10;
+
+  private final List<RecordAccessor> components;
+  private final IdentityCache<Devcontainer, String> fingerprints = new IdentityCache<>();
+
+  private DevcontainerFingerprint(final Set<String> names) {
+    final List<RecordAccessor> selected = new ArrayList<>();
+    for (final RecordAccessor accessor : RecordAccessor.of(Devcontainer.class)) {
+      if (names.contains(accessor.name())) {
+        selected.add(accessor);
+      }
+    }
+    this.components = List.copyOf(selected);
+  }
+
+  /**
+   * Returns the shared fingerprint over the {@link #BUILD_COMPONENTS}.
+   *
+   * @return The fingerprint for image build caches.
+   */
+  public static DevcontainerFingerprint build() {
+    return BUILD;
+  }
+
+  /**
+   * Creates a fingerprint over the given components. Each instance memoizes its own results, so callers should keep
+   * and reuse it.
+   *
+   * @param components The names of the record components to include, e.g. {@code "image"} or {@code "features"}.
+   * @return A fingerprint over these components.
+   * @throws IllegalArgumentException If a name is not a component of {@link Devcontainer}.
+   */
+  public static DevcontainerFingerprint of(final String... components) {
+    final Set<String> names = Set.copyOf(List.of(components));
+    final DevcontainerFingerprint fingerprint = new DevcontainerFingerprint(names);
+    if (fingerprint.components.size() != names.size()) {
+      throw new IllegalArgumentException("Unknown devcontainer components in: " + names);
+    }
+    return fingerprint;
+  }
+
+  /**
+   * Computes the fingerprint of a devcontainer, or returns the one computed before for the same instance.
+   *
+   * @param devcontainer The devcontainer to fingerprint.
+   * @return The lowercase hex encoded SHA-256 hash.
+   */
+  public String fingerprint(final Devcontainer devcontainer) {
+    return fingerprints.get(devcontainer, this::compute);
+  }
+
+  private String compute(final Devcontainer devcontainer) {
+    final Digest digest = new Digest();
+    for (final RecordAccessor component : components) {
+      final Object value = component.get(devcontainer);
+      if (value != null) {
+        digest.string(component.name());
+        digest.value(value);
+      }
+    }
+    return HexFormat.of().formatHex(digest.finish());
+  }
+
+  // writes a tag before every value and the length before every string and list, so distinct graphs never collide
+  private static final class Digest {
+
+    private final MessageDigest sha = DevcontainerCache.digest("SHA-256");
+    private final byte[] buffer = new byte[256];
+    private int position;
+
+    private void value(final Object value) {
+      switch (value) {
+        case null -> put(NULL);
+        case String string -> string(string);
+        case Boolean bool -> put(bool ? TRUE : FALSE);
+        case Integer number -> integer(number);
+        case Long number -> integer(number);
+        case Number number -> number(number);
+        case Enum<?> constant -> string(constant.name());
+        case Record record -> record(record);
+        case Map<?, ?> map -> map(map);
+        case List<?> list -> list(list);
+        default -> {
+          put(OTHER);
+          text(value.toString());
+        }
+      }
+    }
+
+    private void record(final Record record) {
+      put(RECORD);
+      for (final RecordAccessor component : RecordAccessor.of(record.getClass())) {
+        final Object value = component.get(record);
+        if (value != null) {
+          string(component.name());
+          value(value);
+        }
+      }
+      put(END);
+    }
+
+    private void map(final Map<?, ?> map) {
+      put(MAP);
+      final Object[] keys = map.keySet().toArray();
+      Arrays.sort(keys, Comparator.comparing(String::valueOf));
+      for (final Object key : keys) {
+        final Object value = map.get(key);
+        if (value != null) {
+          string(String.valueOf(key));
+          value(value);
+        }
+      }
+      put(END);
+    }
+
+    private void list(final List<?> list) {
+      put(LIST);
+      putInt(list.size());
+      for (final Object element : list) {
+        value(element);
+      }
+    }
+
+    // integral values share the encoding of Integer and Long, all others are written in their shortest decimal form
+    private void number(final Number number) {
+      final BigDecimal decimal;
+      try {
+        decimal = new BigDecimal(number.toString()).stripTrailingZeros();
+      } catch (final NumberFormatException exception) {
+        put(NUMBER);
+        text(number.toString());
+        return;
+      }
+      if (decimal.scale() <= 0 && decimal.precision() - decimal.scale() < 19) {
+        integer(decimal.longValue());
+      } else {
+        put(NUMBER);
+        text(decimal.toString());
+      }
+    }
+
+    private void integer(final long number) {
+      put(INTEGER);
+      putInt((int) (number >>> 32));
+      putInt((int) number);
+    }
+
+    private void string(final String string) {
+      put(STRING);
+      text(string);
+    }
+
+    // each UTF-16 code unit in the variable length form of UTF-8, which keeps ASCII text at one byte per character
+    private void text(final String text) {
+      putInt(text.length());
+      for (int index = 0; index < text.length(); index++) {
+        final char character = text.charAt(index);
+        if (character < 0x80) {
+          put((byte) character);
+        } else if (character < 0x800) {
+          put((byte) (0xC0 | character >>> 6));
+          put((byte) (0x80 | character & 0x3F));
+        } else {
+          put((byte) (0xE0 | character >>> 12));
+          put((byte) (0x80 | character >>> 6 & 0x3F));
+          put((byte) (0x80 | character & 0x3F));
+        }
+      }
+    }
+
+    private void putInt(final int value) {
+      put((byte) (value >>> 24));
+      put((byte) (value >>> 16));
+      put((byte) (value >>> 8));
+      put((byte) value);
+    }
+
+    private void put(final byte value) {
+      if (position == buffer.length) {
+        sha.update(buffer, 0, position);
+        position = 0;
+      }
+      buffer[position++] = value;
+    }
+
+    private byte[] finish() {
+      sha.update(buffer, 0, position);
+      return sha.digest();
+    }
+
+  }
+
+}
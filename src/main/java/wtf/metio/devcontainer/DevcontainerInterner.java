@@ -0,0 +1,83 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import tools.jackson.databind.DeserializationContext;
+
+/**
+ * Shares the values that repeat most across the configurations of a fleet: image names, feature IDs and options, the
+ * names and values of environment variables, mounts, and port attributes. The deserializers of
+ * {@link DevcontainerModule} pass these values through the pool of the {@link DevcontainerModule#INTERNING} reader
+ * attribute while they read them, so each distinct value is kept once instead of once per file. All of them are strings
+ * or small records of strings and enums that are compared with {@code equals}. Everything else, e.g. commands, lists,
+ * or customizations, is kept as parsed, and the lists and maps of parsed records stay modifiable.
+ * <p>
+ * The pool references its values weakly, so a value disappears once no configuration uses it anymore, and it holds at
+ * most {@code maximumSize} values; once it is full, values it does not know yet are returned without being shared.
+ * It is safe for concurrent use.
+ */
+public final class DevcontainerInterner {
+
+  private static final DevcontainerInterner SHARED = new DevcontainerInterner(1 << 20);
+
+  private final int maximumSize;
+  private final WeakKeyMap<Object, Void> values = WeakKeyMap.byEquality();
+
+  /**
+   * Creates an empty pool.
+   *
+   * @param maximumSize The maximum number of values to share.
+   */
+  public DevcontainerInterner(final int maximumSize) {
+    if (maximumSize < 1) {
+      throw new IllegalArgumentException("maximumSize must be positive but was " + maximumSize);
+    }
+    this.maximumSize = maximumSize;
+  }
+
+  /**
+   * Returns the pool used by {@link Devcontainer#interningReader()}, which keeps up to 2^20 values.
+   *
+   * @return The pool shared across all parses of this class loader.
+   */
+  public static DevcontainerInterner shared() {
+    return SHARED;
+  }
+
+  /**
+   * Returns the number of shared values. Values that are no longer used by any configuration are counted until the
+   * garbage collector cleared them.
+   *
+   * @return The number of values in this pool.
+   */
+  public int size() {
+    return values.size();
+  }
+
+  // the value shared with equal values read before, or the value itself if the reader does not intern
+  static <T> T intern(final DeserializationContext context, final T value) {
+    final DevcontainerInterner interner = (DevcontainerInterner) context.getAttribute(DevcontainerModule.INTERNING);
+    return interner == null ? value : interner.intern(value);
+  }
+
+  // the entry of the shared value equal to the given one, or null if there is none
+  WeakKeyMap.Entry<Object, Void> entry(final Object value) {
+    return values.get(value);
+  }
+
+  // a candidate that lost against an equal value is never enqueued, since nothing references it afterwards
+  @SuppressWarnings("unchecked")
+  <T> T intern(final T value) {
+    if (value == null) {
+      return null;
+    }
+    final WeakKeyMap.Entry<Object, Void> existing = values.size() < maximumSize
+        ? values.putIfAbsent(value, null)
+        : values.get(value);
+    final Object canonical = existing == null ? null : existing.get();
+    return canonical == null ? value : (T) canonical;
+  }
+
+}
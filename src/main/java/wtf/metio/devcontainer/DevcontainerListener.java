@@ -0,0 +1,36 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.nio.file.Path;
+
+/**
+ * Receives the updates of a {@link DevcontainerWatcher}. Callbacks run on the watcher's reload thread, one file after
+ * another, and should hand off any long-running work.
+ */
+@FunctionalInterface
+public interface DevcontainerListener {
+
+  /**
+   * Called after a watched file was changed, created, or deleted.
+   *
+   * @param path     The watched file.
+   * @param previous The devcontainer before the change, or {@code null} if the file did not exist.
+   * @param current  The devcontainer after the change, or {@code null} if the file was deleted.
+   */
+  void changed(Path path, Devcontainer previous, Devcontainer current);
+
+  /**
+   * Called when a watched file changed but could not be parsed, for example because an editor saved it halfway. The
+   * previous devcontainer stays current until the file can be parsed again.
+   *
+   * @param path    The watched file.
+   * @param failure The exception raised while reading or parsing the file.
+   */
+  default void failed(final Path path, final RuntimeException failure) {
+    // keep the previous value
+  }
+
+}
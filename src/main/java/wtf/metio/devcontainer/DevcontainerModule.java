@@ -0,0 +1,57 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import tools.jackson.databind.module.SimpleModule;
+
+/**
+ * Registers streaming deserializers for every record of the devcontainer model. They read the token stream into the
+ * generated builders directly, so Jackson never introspects the records through reflection. The module is part of
+ * {@link Devcontainer#defaultObjectMapper()}; register it on your own mapper to get the same parsing path there.
+ */
+public final class DevcontainerModule extends SimpleModule {
+
+  /**
+   * Reader attribute that defers decoding the settings of each tool below {@code customizations} until they are first
+   * accessed. Parsing then only buffers the tokens of those objects instead of building maps, lists, and boxed values
+   * that most consumers never look at. The customizations keep their map-shaped API but become read-only:
+   *
+   * <pre>{@code
+   * ObjectReader reader = Devcontainer.reader().withAttribute(DevcontainerModule.LAZY_CUSTOMIZATIONS, true);
+   * }</pre>
+   */
+  public static final String LAZY_CUSTOMIZATIONS = "wtf.metio.devcontainer.lazyCustomizations";
+
+  /**
+   * Reader attribute holding a {@code Set<String>} of {@link Devcontainer} component names. Only those top-level
+   * properties are deserialized; the values of all others are skipped without being bound and their components stay
+   * {@code null}. Prefer {@link Devcontainer#projectingReader(String...)}, which validates the names.
+   */
+  public static final String PROJECTION = "wtf.metio.devcontainer.projection";
+
+  /**
+   * Reader attribute holding a {@link DevcontainerInterner}. Image names, feature IDs and options, environment
+   * variables, mounts, and port attributes that repeat across files are then kept only once. Prefer
+   * {@link Devcontainer#interningReader()}, which uses the shared pool.
+   */
+  public static final String INTERNING = "wtf.metio.devcontainer.interning";
+
+  private static final long serialVersionUID = 1L;
+
+  public DevcontainerModule() {
+    super("devcontainer");
+    addDeserializer(Devcontainer.class, new DevcontainerDeserializer());
+    addDeserializer(Build.class, new BuildDeserializer());
+    addDeserializer(Command.class, new CommandDeserializer());
+    addDeserializer(Gpu.class, new GpuDeserializer());
+    addDeserializer(GpuRequirements.class, new GpuRequirementsDeserializer());
+    addDeserializer(HostRequirements.class, new HostRequirementsDeserializer());
+    addDeserializer(Mount.class, new MountDeserializer());
+    addDeserializer(MountObject.class, new MountObjectDeserializer());
+    addDeserializer(PortAttribute.class, new PortAttributeDeserializer());
+    addDeserializer(Secret.class, new SecretDeserializer());
+  }
+
+}
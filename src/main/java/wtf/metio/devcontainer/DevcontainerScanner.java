@@ -0,0 +1,212 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+
+/**
+ * Discovers and parses all devcontainer configurations below a directory. A configuration is either a
+ * {@code .devcontainer.json} file in any directory, a {@code .devcontainer/devcontainer.json} file, or a
+ * {@code .devcontainer/<folder>/devcontainer.json} file.
+ * <p>
+ * Every directory is listed and every configuration is parsed on its own virtual thread, so parsing starts as soon as
+ * the first file is found while the rest of the tree is still being walked. The returned stream yields results in the
+ * order they complete and should be closed when it is not consumed until its end, which stops the remaining walk.
+ * Directories that cannot be listed completely are reported as failed results, symbolic links are not followed.
+ */
+public final class DevcontainerScanner {
+
+  /**
+   * Names of directories that are skipped by default: they are large, often deeply nested, and never hold the
+   * configuration of a project.
+   */
+  public static final Set<String> EXCLUDED_DIRECTORIES = Set.of(".git", "node_modules", "target");
+
+  private static final String CONFIG_FILE = ".devcontainer.json";
+  private static final String CONFIG_FOLDER = ".devcontainer";
+  private static final String FOLDER_CONFIG_FILE = "devcontainer.json";
+
+  private DevcontainerScanner() {
+    // utility class
+  }
+
+  public static Stream<ParseResult> scan(final Path root) {
+    return scan(root, Runtime.getRuntime().availableProcessors());
+  }
+
+  public static Stream<ParseResult> scan(final Path root, final int parallelism) {
+    return scan(root, parallelism, EXCLUDED_DIRECTORIES);
+  }
+
+  /**
+   * Scans the given directory tree with the shared {@link Devcontainer#reader()}.
+   *
+   * @param root                The directory to scan.
+   * @param parallelism         The maximum number of directories being listed and files being parsed at once.
+   * @param excludedDirectories Names of directories that are not descended into.
+   * @return A stream of results that must be closed if it is not consumed completely.
+   */
+  public static Stream<ParseResult> scan(final Path root, final int parallelism,
+      final Set<String> excludedDirectories) {
+    return start(Devcontainer.reader(), root, parallelism, excludedDirectories);
+  }
+
+  public static Stream<ParseResult> scan(final Path root, final int parallelism, final Set<String> excludedDirectories,
+      final ObjectMapper objectMapper) {
+    return start(objectMapper.readerFor(Devcontainer.class), root, parallelism, excludedDirectories);
+  }
+
+  private static Stream<ParseResult> start(final ObjectReader reader, final Path root, final int parallelism,
+      final Set<String> excludedDirectories) {
+    if (parallelism < 1) {
+      throw new IllegalArgumentException("parallelism must be positive but was " + parallelism);
+    }
+    final Scan scan = new Scan(reader, parallelism, Set.copyOf(excludedDirectories));
+    scan.submit(root, scan::walk);
+    return StreamSupport.stream(scan, false).onClose(scan::cancel);
+  }
+
+  @FunctionalInterface
+  interface Step {
+
+    void run(Path path) throws IOException;
+
+  }
+
+  static final class Scan extends Spliterators.AbstractSpliterator<ParseResult> {
+
+    // marks the end of the queue, since blocking queues do not accept null
+    private static final ParseResult END = new ParseResult(null, null, null);
+
+    private final BlockingQueue<ParseResult> results = new LinkedBlockingQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectReader reader;
+    private final Semaphore permits;
+    private final Set<String> excludedDirectories;
+    private volatile boolean cancelled;
+    private boolean done;
+
+    Scan(final ObjectReader reader, final int parallelism, final Set<String> excludedDirectories) {
+      super(Long.MAX_VALUE, Spliterator.NONNULL);
+      this.reader = reader;
+      this.permits = new Semaphore(parallelism);
+      this.excludedDirectories = excludedDirectories;
+    }
+
+    // tasks register their children before they finish, so the counter only drops to zero once the walk is complete
+    void submit(final Path path, final Step step) {
+      pending.incrementAndGet();
+      executor.execute(() -> run(path, step));
+    }
+
+    private void run(final Path path, final Step step) {
+      try {
+        if (!cancelled) {
+          permits.acquireUninterruptibly();
+          try {
+            step.run(path);
+          } finally {
+            permits.release();
+          }
+        }
+      } catch (final IOException exception) {
+        results.add(ParseResult.failure(path, new UncheckedIOException(exception)));
+      } catch (final DirectoryIteratorException exception) {
+        // listing a directory reports I/O errors of the iteration unchecked, with the actual IOException as cause
+        results.add(ParseResult.failure(path, new UncheckedIOException(exception.getCause())));
+      } catch (final RuntimeException exception) {
+        results.add(ParseResult.failure(path, exception));
+      } finally {
+        if (pending.decrementAndGet() == 0) {
+          results.add(END);
+          executor.shutdown();
+        }
+      }
+    }
+
+    private void walk(final Path directory) throws IOException {
+      try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory)) {
+        for (final Path entry : entries) {
+          final String name = entry.getFileName().toString();
+          if (CONFIG_FILE.equals(name)) {
+            parse(entry);
+          } else if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+            if (CONFIG_FOLDER.equals(name)) {
+              submit(entry, this::folder);
+            } else if (!excludedDirectories.contains(name)) {
+              submit(entry, this::walk);
+            }
+          }
+        }
+      }
+    }
+
+    private void folder(final Path folder) throws IOException {
+      try (DirectoryStream<Path> entries = Files.newDirectoryStream(folder)) {
+        for (final Path entry : entries) {
+          if (FOLDER_CONFIG_FILE.equals(entry.getFileName().toString())) {
+            parse(entry);
+          } else if (Files.isDirectory(entry, LinkOption.NOFOLLOW_LINKS)) {
+            parse(entry.resolve(FOLDER_CONFIG_FILE));
+          }
+        }
+      }
+    }
+
+    private void parse(final Path file) {
+      if (Files.isRegularFile(file, LinkOption.NOFOLLOW_LINKS)) {
+        submit(file, path -> results.add(BulkParser.parse(reader, path)));
+      }
+    }
+
+    private void cancel() {
+      cancelled = true;
+    }
+
+    @Override
+    public boolean tryAdvance(final Consumer<? super ParseResult> action) {
+      if (!done) {
+        final ParseResult result = take();
+        done = result == END;
+        if (!done) {
+          action.accept(result);
+        }
+      }
+      return !done;
+    }
+
+    private ParseResult take() {
+      try {
+        return results.take();
+      } catch (final InterruptedException exception) {
+        Thread.currentThread().interrupt();
+        throw new IllegalStateException("Interrupted while waiting for the next scan result", exception);
+      }
+    }
+
+  }
+
+}
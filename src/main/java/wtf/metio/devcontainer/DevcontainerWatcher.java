@@ -0,0 +1,226 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps the current {@link Devcontainer} of each watched file up to date. The parent directories of all watched files
+ * are registered with a {@link WatchService}; once a directory reports events and then stays quiet for the configured
+ * debounce period, its watched files are reloaded and every actual change is passed to the listener together with the
+ * previous value.
+ * <p>
+ * Reloads go through a {@link DevcontainerCache}, so only files whose content changed are parsed again, and a save that
+ * leaves the content as it was does not notify the listener at all. If a watched directory is deleted, its files are
+ * reported as deleted and the directory is checked again once per debounce period until it reappears. Exceptions
+ * thrown by the listener are passed to the uncaught exception handler of the reload thread, so they neither keep the
+ * other files of a directory from being reloaded nor stop those checks.
+ */
+public final class DevcontainerWatcher implements AutoCloseable {
+
+  private final Duration debounce;
+  private final DevcontainerListener listener;
+  private final DevcontainerCache cache = new DevcontainerCache(Integer.MAX_VALUE);
+  private final WatchService watchService;
+  private final ScheduledExecutorService scheduler;
+  private final Set<Path> files = ConcurrentHashMap.newKeySet();
+  private final Map<Path, Devcontainer> current = new ConcurrentHashMap<>();
+  private final Map<Path, ScheduledFuture<?>> pending = new ConcurrentHashMap<>();
+  private final Map<Path, WatchKey> directories = new HashMap<>();
+
+  /**
+   * Starts watching with an empty set of files.
+   *
+   * @param debounce The quiet period after the last event of a directory before its files are reloaded, which must be
+   *                 positive.
+   * @param listener The listener to notify about changes.
+   * @throws IOException If the file system does not support watching.
+   */
+  public DevcontainerWatcher(final Duration debounce, final DevcontainerListener listener) throws IOException {
+    if (debounce.isNegative() || debounce.isZero()) {
+      throw new IllegalArgumentException("debounce must be positive but was " + debounce);
+    }
+    this.debounce = debounce;
+    this.listener = listener;
+    this.watchService = FileSystems.getDefault().newWatchService();
+    this.scheduler = Executors.newSingleThreadScheduledExecutor(
+        Thread.ofVirtual().name("devcontainer-reload").factory());
+    Thread.ofVirtual().name("devcontainer-watcher").start(this::poll);
+  }
+
+  /**
+   * Parses the given file and reloads it whenever it changes from now on.
+   *
+   * @param devcontainer The path to the devcontainer.json file.
+   * @return The parsed devcontainer.
+   * @throws IOException                               If the parent directory of the file cannot be watched.
+   * @throws tools.jackson.core.exc.JacksonIOException If the file cannot be read.
+   * @throws tools.jackson.core.JacksonException       If the file cannot be parsed.
+   */
+  public synchronized Devcontainer watch(final Path devcontainer) throws IOException {
+    final Path file = devcontainer.toAbsolutePath().normalize();
+    final Devcontainer parsed = cache.parse(file);
+    final Path directory = file.getParent();
+    if (!directories.containsKey(directory)) {
+      directories.put(directory, register(directory));
+    }
+    files.add(file);
+    current.put(file, parsed);
+    return parsed;
+  }
+
+  /**
+   * Stops reloading the given file and forgets its current devcontainer. The listener is not notified about the file
+   * anymore, and its parent directory is no longer watched once no other watched file is left in it. Files that are not
+   * watched are ignored.
+   *
+   * @param devcontainer The path to the devcontainer.json file.
+   */
+  public synchronized void unwatch(final Path devcontainer) {
+    final Path file = devcontainer.toAbsolutePath().normalize();
+    files.remove(file);
+    current.remove(file);
+    cache.invalidate(file);
+    final Path directory = file.getParent();
+    if (files.stream().noneMatch(watched -> watched.getParent().equals(directory))) {
+      final WatchKey key = directories.remove(directory);
+      if (key != null) {
+        key.cancel();
+      }
+    }
+  }
+
+  /**
+   * Returns the latest successfully parsed devcontainer of a watched file.
+   *
+   * @param devcontainer The path to the devcontainer.json file.
+   * @return The current devcontainer, or {@code null} if the file is not watched or was deleted.
+   */
+  public Devcontainer current(final Path devcontainer) {
+    return current.get(devcontainer.toAbsolutePath().normalize());
+  }
+
+  @Override
+  public void close() throws IOException {
+    scheduler.shutdownNow();
+    watchService.close();
+  }
+
+  private void poll() {
+    try {
+      while (true) {
+        final WatchKey key = watchService.take();
+        key.pollEvents();
+        final Path directory = (Path) key.watchable();
+        if (!key.reset()) {
+          invalidate(directory, key);
+        }
+        schedule(directory);
+      }
+    } catch (final ClosedWatchServiceException | InterruptedException exception) {
+      // the watcher was closed
+    }
+  }
+
+  // every new event restarts the timer of its directory, so a burst of writes results in a single reload
+  private void schedule(final Path directory) {
+    pending.compute(directory, (ignored, previous) -> {
+      if (previous != null) {
+        previous.cancel(false);
+      }
+      return scheduler.schedule(() -> reload(directory), debounce.toNanos(), TimeUnit.NANOSECONDS);
+    });
+  }
+
+  private void reload(final Path directory) {
+    pending.remove(directory);
+    final boolean registered = reregister(directory);
+    try {
+      files.stream().filter(file -> file.getParent().equals(directory)).forEach(this::refresh);
+    } finally {
+      if (!registered) {
+        schedule(directory);
+      }
+    }
+  }
+
+  private WatchKey register(final Path directory) throws IOException {
+    return directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+  }
+
+  // a key turns invalid once its directory is deleted, and never reports events again
+  private synchronized void invalidate(final Path directory, final WatchKey key) {
+    directories.remove(directory, key);
+  }
+
+  // returns false while a directory that still holds watched files cannot be registered, e.g. because it is missing
+  private synchronized boolean reregister(final Path directory) {
+    if (directories.containsKey(directory) || files.stream().noneMatch(file -> file.getParent().equals(directory))) {
+      return true;
+    }
+    try {
+      directories.put(directory, register(directory));
+      return true;
+    } catch (final IOException exception) {
+      return false;
+    }
+  }
+
+  // parses outside the lock, since that may take a while, but publishes under it
+  void refresh(final Path file) {
+    final Devcontainer next;
+    try {
+      next = Files.exists(file) ? cache.parse(file) : null;
+    } catch (final RuntimeException exception) {
+      if (files.contains(file)) {
+        deliver(() -> listener.failed(file, exception));
+      }
+      return;
+    }
+    final Devcontainer previous = publish(file, next);
+    if (next != previous) {
+      deliver(() -> listener.changed(file, previous, next));
+    }
+  }
+
+  // returns the replaced value, or the given one if the file was unwatched while it was parsed
+  private synchronized Devcontainer publish(final Path file, final Devcontainer next) {
+    if (!files.contains(file)) {
+      return next;
+    }
+    if (next == null) {
+      cache.invalidate(file);
+      return current.remove(file);
+    }
+    return current.put(file, next);
+  }
+
+  private static void deliver(final Runnable callback) {
+    try {
+      callback.run();
+    } catch (final RuntimeException exception) {
+      final Thread thread = Thread.currentThread();
+      thread.getUncaughtExceptionHandler().uncaughtException(thread, exception);
+    }
+  }
+
+}
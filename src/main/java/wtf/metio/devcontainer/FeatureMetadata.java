@@ -0,0 +1,27 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import io.soabase.recordbuilder.core.RecordBuilder;
+import java.util.List;
+
+/**
+ * The ordering properties of a feature, as declared in its {@code devcontainer-feature.json}.
+ *
+ * @param installsAfter Features that must be installed before this one if they are installed at all.
+ * @param dependsOn     Features that must be installed before this one, and are installed for it if missing.
+ * @see <a href="https://containers.dev/implementors/features/#installation-order">installation order</a>
+ */
+@RecordBuilder
+@RecordBuilder.Options(buildMethodName = "create")
+public record FeatureMetadata(
+    List<String> installsAfter,
+    List<String> dependsOn) implements FeatureMetadataBuilder.With {
+
+    public static FeatureMetadataBuilder builder() {
+        return FeatureMetadataBuilder.builder();
+    }
+
+}
@@ -0,0 +1,23 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+/**
+ * Supplies the metadata of features, e.g. from a local cache of downloaded {@code devcontainer-feature.json} files.
+ *
+ * @see FeatureOrderResolver
+ */
+@FunctionalInterface
+public interface FeatureMetadataSource {
+
+  /**
+   * Looks up the metadata of a single feature.
+   *
+   * @param feature The feature reference as written, e.g. {@code ghcr.io/devcontainers/features/node:1}.
+   * @return The metadata, or {@code null} if the feature declares no ordering properties.
+   */
+  FeatureMetadata metadata(String feature);
+
+}
@@ -0,0 +1,20 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.List;
+
+/**
+ * The order in which the features of a devcontainer are installed.
+ *
+ * @param order  All features in installation order, including those only pulled in through {@code dependsOn}.
+ * @param layers The same features grouped into rounds. The features of a round only depend on earlier rounds, so they
+ *               may be installed in parallel.
+ * @see FeatureOrderResolver
+ */
+public record FeatureOrder(
+    List<String> order,
+    List<List<String>> layers) {
+}
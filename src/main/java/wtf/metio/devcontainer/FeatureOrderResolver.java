@@ -0,0 +1,191 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Computes the installation order of features following the devcontainer specification. Features are sorted
+ * topologically in rounds: {@code dependsOn} must be installed earlier and is added if missing, {@code installsAfter}
+ * only applies to features that are installed anyway, and features listed in {@code overrideFeatureInstallOrder} are
+ * installed as early as their dependencies allow, in the listed order and regardless of their {@code installsAfter}.
+ * Features are compared by their reference without version, so {@code node:1} satisfies an {@code installsAfter} on
+ * {@code node}. Ties keep declaration order, so the result is stable.
+ * <p>
+ * Sorting runs in O(V+E) plus the sorting of each round. Results are memoized per list of features and override
+ * order, so the metadata source must not change its answers for the lifetime of a resolver.
+ *
+ * @see <a href="https://containers.dev/implementors/features/#installation-order">installation order</a>
+ */
+public final class FeatureOrderResolver {
+
+  private final FeatureMetadataSource source;
+  private final InternTable<Key, FeatureOrder> resolved;
+
+  /**
+   * Creates a resolver that remembers the orders of up to 1024 distinct feature sets, evicting those not used recently.
+   *
+   * @param source The source of the feature metadata.
+   */
+  public FeatureOrderResolver(final FeatureMetadataSource source) {
+    this.source = source;
+    this.resolved = new InternTable<>(1024, this::sort);
+  }
+
+  /**
+   * Resolves the installation order of the {@code features} of the given devcontainer.
+   *
+   * @param devcontainer The devcontainer to resolve.
+   * @return The installation order.
+   * @throws IllegalArgumentException If the features depend on each other in a cycle.
+   */
+  public FeatureOrder resolve(final Devcontainer devcontainer) {
+    final Map<String, Map<String, String>> features = devcontainer.features();
+    return resolve(features == null ? List.of() : List.copyOf(features.keySet()),
+        devcontainer.overrideFeatureInstallOrder());
+  }
+
+  public FeatureOrder resolve(final List<String> features, final List<String> overrideFeatureInstallOrder) {
+    return resolved.get(new Key(List.copyOf(features),
+        overrideFeatureInstallOrder == null ? List.of() : List.copyOf(overrideFeatureInstallOrder)));
+  }
+
+  private FeatureOrder sort(final Key key) {
+    return new Graph(source, key).sort();
+  }
+
+  // a reference without its version tag or digest, e.g. "ghcr.io/devcontainers/features/node" for "...node:1"
+  static String id(final String feature) {
+    final int digest = feature.indexOf('@');
+    final String name = digest < 0 ? feature : feature.substring(0, digest);
+    final int tag = name.lastIndexOf(':');
+    return tag > name.lastIndexOf('/') ? name.substring(0, tag) : name;
+  }
+
+  private record Key(List<String> features, List<String> override) {
+  }
+
+  private static final class Graph {
+
+    private final FeatureMetadataSource source;
+    private final List<String> features = new ArrayList<>();
+    private final List<FeatureMetadata> metadata = new ArrayList<>();
+    private final Map<String, Integer> index = new HashMap<>();
+    private final List<List<Integer>> successors = new ArrayList<>();
+    private int[] predecessors;
+    private int[] priority;
+
+    private Graph(final FeatureMetadataSource source, final Key key) {
+      this.source = source;
+      key.features().forEach(this::add);
+      // features added through dependsOn are appended, so this loop visits them as well
+      for (int node = 0; node < features.size(); node++) {
+        list(metadata.get(node).dependsOn()).forEach(this::add);
+      }
+      predecessors = new int[features.size()];
+      priority = new int[features.size()];
+      final List<String> override = key.override();
+      for (int position = 0; position < override.size(); position++) {
+        final Integer node = index.get(id(override.get(position)));
+        if (node != null) {
+          priority[node] = override.size() - position;
+        }
+      }
+      for (int node = 0; node < features.size(); node++) {
+        edges(node);
+      }
+    }
+
+    private void add(final String feature) {
+      if (index.putIfAbsent(id(feature), features.size()) == null) {
+        features.add(feature);
+        final FeatureMetadata declared = source.metadata(feature);
+        metadata.add(declared == null ? new FeatureMetadata(null, null) : declared);
+        successors.add(new ArrayList<>());
+      }
+    }
+
+    private void edges(final int node) {
+      for (final String dependency : list(metadata.get(node).dependsOn())) {
+        edge(index.get(id(dependency)), node);
+      }
+      if (priority[node] == 0) {
+        for (final String predecessor : list(metadata.get(node).installsAfter())) {
+          final Integer before = index.get(id(predecessor));
+          if (before != null && before != node) {
+            edge(before, node);
+          }
+        }
+      }
+    }
+
+    private void edge(final int before, final int after) {
+      successors.get(before).add(after);
+      predecessors[after]++;
+    }
+
+    private FeatureOrder sort() {
+      final List<Integer> ready = new ArrayList<>();
+      for (int node = 0; node < features.size(); node++) {
+        if (predecessors[node] == 0) {
+          ready.add(node);
+        }
+      }
+      final List<String> order = new ArrayList<>(features.size());
+      final List<List<String>> layers = new ArrayList<>();
+      while (!ready.isEmpty()) {
+        final List<String> layer = new ArrayList<>();
+        for (final int node : round(ready)) {
+          layer.add(features.get(node));
+          for (final int successor : successors.get(node)) {
+            if (--predecessors[successor] == 0) {
+              ready.add(successor);
+            }
+          }
+        }
+        order.addAll(layer);
+        layers.add(List.copyOf(layer));
+      }
+      if (order.size() < features.size()) {
+        final List<String> cycle = new ArrayList<>();
+        for (int node = 0; node < features.size(); node++) {
+          if (predecessors[node] > 0) {
+            cycle.add(features.get(node));
+          }
+        }
+        throw new IllegalArgumentException("Features depend on each other in a cycle: " + cycle);
+      }
+      return new FeatureOrder(List.copyOf(order), List.copyOf(layers));
+    }
+
+    // the override feature with the highest priority goes alone, otherwise all ready features form the round
+    private List<Integer> round(final List<Integer> ready) {
+      int first = -1;
+      for (int position = 0; position < ready.size(); position++) {
+        if (priority[ready.get(position)] > 0
+            && (first < 0 || priority[ready.get(position)] > priority[ready.get(first)])) {
+          first = position;
+        }
+      }
+      if (first >= 0) {
+        return List.of(ready.remove(first));
+      }
+      final List<Integer> round = new ArrayList<>(ready);
+      Collections.sort(round);
+      ready.clear();
+      return round;
+    }
+
+    private static List<String> list(final List<String> values) {
+      return values == null ? List.of() : values;
+    }
+
+  }
+
+}
@@ -6,11 +6,15 @@ package wtf.metio.devcontainer;
 
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
 import tools.jackson.databind.DeserializationContext;
-import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.deser.std.StdDeserializer;
 import tools.jackson.databind.exc.MismatchedInputException;
 
+/**
+ * Maps the boolean, string, and object forms of {@code hostRequirements.gpu} by peeking at the current token. The object
+ * form is read by the cached {@link GpuRequirements} deserializer.
+ */
 public final class GpuDeserializer extends StdDeserializer<Gpu> {
 
     public GpuDeserializer() {
@@ -24,13 +28,13 @@ public final class GpuDeserializer extends StdDeserializer<Gpu> {
     @Override
     public Gpu deserialize(final JsonParser parser, final DeserializationContext context)
             throws JacksonException {
-        final JsonNode node = context.readTree(parser);
-        if (node.isBoolean()) {
-            return new Gpu(node.booleanValue(), null, null);
-        } else if (node.isString()) {
-            return new Gpu(null, node.stringValue(), null);
-        } else if (node.isObject()) {
-            return new Gpu(null, null, context.readTreeAsValue(node, GpuRequirements.class));
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_TRUE || token == JsonToken.VALUE_FALSE) {
+            return new Gpu(parser.getBooleanValue(), null, null);
+        } else if (token == JsonToken.VALUE_STRING) {
+            return new Gpu(null, parser.getString(), null);
+        } else if (token == JsonToken.START_OBJECT || token == JsonToken.PROPERTY_NAME) {
+            return new Gpu(null, null, context.readValue(parser, GpuRequirements.class));
         }
 
         throw MismatchedInputException.from(parser, Gpu.class, "Cannot deserialize given input to Gpu");
@@ -24,4 +24,15 @@ public record GpuRequirements(
         return GpuRequirementsBuilder.builder();
     }
 
+    /**
+     * Returns {@link #memory()} in bytes, so that placement decisions compare primitives only. Each distinct string is
+     * parsed once and its byte count shared afterwards.
+     *
+     * @return The required memory in bytes, or {@link ByteSize#UNSET} if not set.
+     * @throws IllegalArgumentException If the memory does not match the schema.
+     */
+    public long memoryBytes() {
+        return ByteSize.cached(memory);
+    }
+
 }
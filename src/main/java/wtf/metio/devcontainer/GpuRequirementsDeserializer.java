@@ -0,0 +1,43 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static wtf.metio.devcontainer.ValueReaders.integer;
+import static wtf.metio.devcontainer.ValueReaders.string;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+
+final class GpuRequirementsDeserializer extends RecordDeserializer<GpuRequirements, GpuRequirementsBuilder> {
+
+    GpuRequirementsDeserializer() {
+        super(GpuRequirements.class);
+    }
+
+    @Override
+    GpuRequirementsBuilder builder() {
+        return GpuRequirements.builder();
+    }
+
+    @Override
+    boolean property(final GpuRequirementsBuilder builder, final String name, final JsonParser parser,
+            final DeserializationContext context) throws JacksonException {
+        switch (name) {
+            case "cores" -> builder.cores(integer(parser, context));
+            case "memory" -> builder.memory(string(parser, context));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    GpuRequirements create(final GpuRequirementsBuilder builder) {
+        return builder.create();
+    }
+
+}
@@ -0,0 +1,63 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import io.soabase.recordbuilder.core.RecordBuilder;
+
+/**
+ * The resources a single host offers to devcontainers, in the units of the normalized {@link HostRequirements}
+ * accessors.
+ *
+ * @param host      The name that identifies the host in a {@link HostIndex}.
+ * @param cpus      The number of CPUs / virtual CPUs / cores.
+ * @param memory    The memory in bytes.
+ * @param storage   The storage in bytes.
+ * @param gpuCores  The number of GPU cores, or {@code 0} if the host has no GPU.
+ * @param gpuMemory The GPU memory in bytes.
+ * @see HostIndex
+ */
+@RecordBuilder
+@RecordBuilder.Options(buildMethodName = "create")
+public record HostCapacity(
+    String host,
+    int cpus,
+    long memory,
+    long storage,
+    int gpuCores,
+    long gpuMemory) implements HostCapacityBuilder.With {
+
+    public static HostCapacityBuilder builder() {
+        return HostCapacityBuilder.builder();
+    }
+
+    /**
+     * Checks the given requirements against this capacity without allocating. GPUs are required and optional in the
+     * same way as for {@link HostIndex#match(HostRequirements)}.
+     *
+     * @param requirements The requirements to satisfy, or {@code null}.
+     * @return {@code true} if this host offers at least the required resources.
+     */
+    public boolean satisfies(final HostRequirements requirements) {
+        return requirements == null
+            || ((requirements.cpus() == null || cpus >= requirements.cpus())
+            && memory >= requirements.memoryBytes()
+            && storage >= requirements.storageBytes()
+            && satisfies(requirements.gpu()));
+    }
+
+    // unset sizes are negative, so every capacity satisfies them
+    private boolean satisfies(final Gpu gpu) {
+        if (gpu == null) {
+            return true;
+        }
+        final GpuRequirements requirements = gpu.requirements();
+        if (requirements != null) {
+            return gpuCores >= (requirements.cores() == null ? 1 : requirements.cores())
+                && gpuMemory >= requirements.memoryBytes();
+        }
+        return gpuCores > 0 || !Boolean.TRUE.equals(gpu.enabled());
+    }
+
+}
@@ -0,0 +1,258 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Finds the hosts whose {@link HostCapacity} satisfies the {@link HostRequirements} of a devcontainer. For each
+ * dimension, the index keeps the capacities of all hosts in a sorted primitive array next to the hosts in the same
+ * order. A query binary searches every dimension for its requirement, walks only the hosts that pass the most selective
+ * one, and checks the remaining dimensions of those. Since that walk runs in ascending order, the hosts that fit most
+ * tightly are returned first.
+ * <p>
+ * Updates move the changed host within every sorted array in place: binary searches find its old and new rank, and only
+ * the entries between those two shift by one. An update therefore costs {@code O(log n)} comparisons plus a copy that is
+ * proportional to how far the host moved in rank, which stays small when a placement takes a few cores or gigabytes, and
+ * it never sorts. Queries share a read lock, so they run concurrently with each other but not with an update.
+ */
+public final class HostIndex {
+
+  private static final int CPUS = 0;
+  private static final int MEMORY = 1;
+  private static final int STORAGE = 2;
+  private static final int GPU_CORES = 3;
+  private static final int GPU_MEMORY = 4;
+  private static final int DIMENSIONS = 5;
+  private static final long ANY = Long.MIN_VALUE;
+
+  private final ReadWriteLock lock = new ReentrantReadWriteLock();
+  // guarded by lock; keys[dimension][rank] ascending, ranked[dimension][rank] the host with that key, equal keys in
+  // the order they were last updated
+  private final Map<String, HostCapacity> hosts = new HashMap<>();
+  private final long[][] keys = new long[DIMENSIONS][16];
+  private final HostCapacity[][] ranked = new HostCapacity[DIMENSIONS][16];
+  private int size;
+
+  /**
+   * Adds a host, or replaces the capacity of a known host.
+   *
+   * @param capacity The current capacity of the host.
+   */
+  public void update(final HostCapacity capacity) {
+    lock.writeLock().lock();
+    try {
+      final HostCapacity previous = hosts.put(capacity.host(), capacity);
+      if (previous == null) {
+        if (size == ranked[0].length) {
+          grow();
+        }
+        for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+          insert(dimension, capacity);
+        }
+        size++;
+      } else {
+        for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+          move(dimension, previous, capacity);
+        }
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public void remove(final String host) {
+    lock.writeLock().lock();
+    try {
+      final HostCapacity previous = hosts.remove(host);
+      if (previous != null) {
+        for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+          delete(dimension, previous);
+        }
+        size--;
+      }
+    } finally {
+      lock.writeLock().unlock();
+    }
+  }
+
+  public int size() {
+    lock.readLock().lock();
+    try {
+      return size;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  /**
+   * Returns all hosts that satisfy the given requirements. A GPU is required if {@code gpu} is {@code true} or uses the
+   * object form; the {@code "optional"} form matches hosts with and without a GPU.
+   *
+   * @param requirements The requirements to satisfy, or {@code null} to match every host.
+   * @return The matching hosts, tightest fit of the most selective requirement first.
+   */
+  public List<HostCapacity> match(final HostRequirements requirements) {
+    final long[] thresholds = thresholds(requirements);
+    lock.readLock().lock();
+    try {
+      int selective = 0;
+      int start = 0;
+      for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+        final int first = lowerBound(keys[dimension], size, thresholds[dimension]);
+        if (first > start) {
+          selective = dimension;
+          start = first;
+        }
+      }
+      final HostCapacity[] candidates = ranked[selective];
+      final List<HostCapacity> matches = new ArrayList<>(size - start);
+      for (int rank = start; rank < size; rank++) {
+        if (satisfies(candidates[rank], thresholds)) {
+          matches.add(candidates[rank]);
+        }
+      }
+      return matches;
+    } finally {
+      lock.readLock().unlock();
+    }
+  }
+
+  private void grow() {
+    for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+      keys[dimension] = Arrays.copyOf(keys[dimension], size * 2);
+      ranked[dimension] = Arrays.copyOf(ranked[dimension], size * 2);
+    }
+  }
+
+  private void insert(final int dimension, final HostCapacity capacity) {
+    final long key = value(capacity, dimension);
+    final int rank = upperBound(keys[dimension], size, key);
+    System.arraycopy(keys[dimension], rank, keys[dimension], rank + 1, size - rank);
+    System.arraycopy(ranked[dimension], rank, ranked[dimension], rank + 1, size - rank);
+    keys[dimension][rank] = key;
+    ranked[dimension][rank] = capacity;
+  }
+
+  private void delete(final int dimension, final HostCapacity capacity) {
+    final int rank = rank(dimension, capacity);
+    System.arraycopy(keys[dimension], rank + 1, keys[dimension], rank, size - rank - 1);
+    System.arraycopy(ranked[dimension], rank + 1, ranked[dimension], rank, size - rank - 1);
+    ranked[dimension][size - 1] = null;
+  }
+
+  // shifts only the entries between the old and the new rank, towards the rank the host left
+  private void move(final int dimension, final HostCapacity previous, final HostCapacity capacity) {
+    final long[] column = keys[dimension];
+    final HostCapacity[] hostsOfColumn = ranked[dimension];
+    final int from = rank(dimension, previous);
+    final long key = value(capacity, dimension);
+    final int to;
+    if (key >= column[from]) {
+      to = upperBound(column, size, key) - 1;
+      System.arraycopy(column, from + 1, column, from, to - from);
+      System.arraycopy(hostsOfColumn, from + 1, hostsOfColumn, from, to - from);
+    } else {
+      to = upperBound(column, from, key);
+      System.arraycopy(column, to, column, to + 1, from - to);
+      System.arraycopy(hostsOfColumn, to, hostsOfColumn, to + 1, from - to);
+    }
+    column[to] = key;
+    hostsOfColumn[to] = capacity;
+  }
+
+  // the host sits within the run of its key, which is usually short
+  private int rank(final int dimension, final HostCapacity capacity) {
+    int rank = lowerBound(keys[dimension], size, value(capacity, dimension));
+    while (ranked[dimension][rank] != capacity) {
+      rank++;
+    }
+    return rank;
+  }
+
+  private static boolean satisfies(final HostCapacity capacity, final long[] thresholds) {
+    for (int dimension = 0; dimension < DIMENSIONS; dimension++) {
+      if (value(capacity, dimension) < thresholds[dimension]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  // the rank of the first of the first 'size' keys that is at least the threshold
+  private static int lowerBound(final long[] ascending, final int size, final long threshold) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (ascending[middle] < threshold) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  // the rank of the first of the first 'size' keys that is greater than the given one, i.e. behind all equal ones
+  private static int upperBound(final long[] ascending, final int size, final long key) {
+    int low = 0;
+    int high = size;
+    while (low < high) {
+      final int middle = (low + high) >>> 1;
+      if (ascending[middle] <= key) {
+        low = middle + 1;
+      } else {
+        high = middle;
+      }
+    }
+    return low;
+  }
+
+  private static long[] thresholds(final HostRequirements requirements) {
+    final long[] thresholds = {ANY, ANY, ANY, ANY, ANY};
+    if (requirements != null) {
+      thresholds[CPUS] = requirements.cpus() == null ? ANY : requirements.cpus();
+      thresholds[MEMORY] = orAny(requirements.memoryBytes());
+      thresholds[STORAGE] = orAny(requirements.storageBytes());
+      gpu(requirements.gpu(), thresholds);
+    }
+    return thresholds;
+  }
+
+  private static void gpu(final Gpu gpu, final long[] thresholds) {
+    if (gpu == null) {
+      return;
+    }
+    final GpuRequirements requirements = gpu.requirements();
+    if (requirements != null) {
+      thresholds[GPU_CORES] = requirements.cores() == null ? 1 : requirements.cores();
+      thresholds[GPU_MEMORY] = orAny(requirements.memoryBytes());
+    } else if (Boolean.TRUE.equals(gpu.enabled())) {
+      thresholds[GPU_CORES] = 1;
+    }
+  }
+
+  private static long orAny(final long bytes) {
+    return bytes == ByteSize.UNSET ? ANY : bytes;
+  }
+
+  private static long value(final HostCapacity capacity, final int dimension) {
+    return switch (dimension) {
+      case CPUS -> capacity.cpus();
+      case MEMORY -> capacity.memory();
+      case STORAGE -> capacity.storage();
+      case GPU_CORES -> capacity.gpuCores();
+      default -> capacity.gpuMemory();
+    };
+  }
+
+}
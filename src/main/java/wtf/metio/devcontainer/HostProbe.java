@@ -0,0 +1,119 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+/**
+ * Reports the {@link HostCapacity} of the local machine: the processors available to the JVM, the total memory from
+ * {@code /proc/meminfo}, and the usable space of the file store that holds a given path. GPUs are not detected and
+ * reported as absent.
+ * <p>
+ * Samples are kept for a configurable time to live, so checks within that period neither touch procfs nor allocate.
+ * The probe is safe for concurrent use; concurrent checks right after a sample expired may each take a new sample.
+ */
+public final class HostProbe {
+
+  private static final Path MEMINFO = Path.of("/proc/meminfo");
+  private static final byte[] MEM_TOTAL = "MemTotal:".getBytes(StandardCharsets.US_ASCII);
+
+  private final Path storage;
+  private final long ttl;
+  private final Path meminfo;
+  private final LongSupplier clock;
+  private volatile Sample sample;
+
+  /**
+   * Creates a probe for the local machine.
+   *
+   * @param storage The path whose file store provides the storage, e.g. the workspace folder.
+   * @param ttl     The period for which a sample is reused.
+   */
+  public HostProbe(final Path storage, final Duration ttl) {
+    this(storage, ttl, MEMINFO, System::nanoTime);
+  }
+
+  HostProbe(final Path storage, final Duration ttl, final Path meminfo, final LongSupplier clock) {
+    this.storage = storage;
+    this.ttl = ttl.toNanos();
+    this.meminfo = meminfo;
+    this.clock = clock;
+  }
+
+  /**
+   * Returns the capacity of the local machine, taking a new sample only if the last one expired.
+   *
+   * @return The current capacity.
+   * @throws UncheckedIOException If procfs or the file store of the storage path cannot be read.
+   */
+  public HostCapacity capacity() {
+    final long now = clock.getAsLong();
+    final Sample current = sample;
+    if (current != null && now - current.sampledAt() < ttl) {
+      return current.capacity();
+    }
+    final Sample next = new Sample(now, probe());
+    sample = next;
+    return next.capacity();
+  }
+
+  public boolean satisfies(final HostRequirements requirements) {
+    return capacity().satisfies(requirements);
+  }
+
+  private HostCapacity probe() {
+    try {
+      return new HostCapacity("localhost", Runtime.getRuntime().availableProcessors(), totalMemory(),
+          Files.getFileStore(storage).getUsableSpace(), 0, 0L);
+    } catch (final IOException exception) {
+      throw new UncheckedIOException(exception);
+    }
+  }
+
+  // MemTotal is reported in kB, e.g. "MemTotal:        6147400 kB"
+  private long totalMemory() throws IOException {
+    final byte[] content = Files.readAllBytes(meminfo);
+    final int start = indexOf(content, MEM_TOTAL);
+    if (start < 0) {
+      throw new IOException("No MemTotal in " + meminfo);
+    }
+    long kilobytes = 0;
+    for (int index = start + MEM_TOTAL.length; index < content.length && content[index] != '\n'; index++) {
+      final byte current = content[index];
+      if (current >= '0' && current <= '9') {
+        kilobytes = kilobytes * 10 + (current - '0');
+      }
+    }
+    return kilobytes << 10;
+  }
+
+  private static int indexOf(final byte[] content, final byte[] prefix) {
+    for (int line = 0; line + prefix.length <= content.length; line++) {
+      if ((line == 0 || content[line - 1] == '\n') && startsWith(content, line, prefix)) {
+        return line;
+      }
+    }
+    return -1;
+  }
+
+  private static boolean startsWith(final byte[] content, final int offset, final byte[] prefix) {
+    for (int index = 0; index < prefix.length; index++) {
+      if (content[offset + index] != prefix[index]) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  private record Sample(long sampledAt, HostCapacity capacity) {
+  }
+
+}
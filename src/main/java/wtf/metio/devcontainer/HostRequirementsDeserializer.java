@@ -0,0 +1,48 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static wtf.metio.devcontainer.ValueReaders.integer;
+import static wtf.metio.devcontainer.ValueReaders.nullable;
+import static wtf.metio.devcontainer.ValueReaders.string;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+
+final class HostRequirementsDeserializer extends RecordDeserializer<HostRequirements, HostRequirementsBuilder> {
+
+    private final ValueReader<Gpu> gpus = new GpuDeserializer()::deserialize;
+
+    HostRequirementsDeserializer() {
+        super(HostRequirements.class);
+    }
+
+    @Override
+    HostRequirementsBuilder builder() {
+        return HostRequirements.builder();
+    }
+
+    @Override
+    boolean property(final HostRequirementsBuilder builder, final String name, final JsonParser parser,
+            final DeserializationContext context) throws JacksonException {
+        switch (name) {
+            case "cpus" -> builder.cpus(integer(parser, context));
+            case "memory" -> builder.memory(string(parser, context));
+            case "storage" -> builder.storage(string(parser, context));
+            case "gpu" -> builder.gpu(nullable(parser, context, gpus));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    HostRequirements create(final HostRequirementsBuilder builder) {
+        return builder.create();
+    }
+
+}
@@ -0,0 +1,37 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.function.Function;
+
+/**
+ * Remembers a value per instance of an immutable key, for data that a record cannot hold in a field of its own. Keys
+ * are compared by identity, so a lookup never calls the possibly deep {@code equals} and {@code hashCode} of a record,
+ * and they are only weakly referenced, so entries disappear together with their key.
+ */
+final class IdentityCache<K, V> {
+
+  private final WeakKeyMap<K, V> values = WeakKeyMap.byIdentity();
+
+  V get(final K key, final Function<? super K, ? extends V> factory) {
+    final WeakKeyMap.Entry<K, V> cached = entry(key);
+    if (cached != null) {
+      return cached.value();
+    }
+    final V computed = factory.apply(key);
+    final WeakKeyMap.Entry<K, V> existing = values.putIfAbsent(key, computed);
+    return existing == null ? computed : existing.value();
+  }
+
+  // the entry of the given key, or null if no value was computed for it
+  WeakKeyMap.Entry<K, V> entry(final K key) {
+    return values.get(key);
+  }
+
+  int size() {
+    return values.size();
+  }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * Shares the value computed from a key among all equal keys. For {@link String} keys, which cache their hash code, a
+ * repeated lookup costs a single probe and comparison. The table holds at most {@code maximumSize} entries; once it is
+ * full, every new entry evicts one that was not used since the clock hand last passed it, so keys that keep coming back
+ * stay cached while one-off keys make room for the next ones.
+ */
+final class InternTable<K, V> {
+
+    private final int maximumSize;
+    private final Function<K, V> factory;
+    private final Map<K, Slot<V>> values = new ConcurrentHashMap<>();
+    // guarded by this; weakly consistent, so it survives concurrent changes and is replaced once it has passed the end
+    private Iterator<Slot<V>> hand;
+
+    InternTable(final int maximumSize, final Function<K, V> factory) {
+        this.maximumSize = maximumSize;
+        this.factory = factory;
+    }
+
+    V get(final K key) {
+        final Slot<V> cached = values.get(key);
+        if (cached != null) {
+            // only write when needed, so hits of hot keys do not contend on the same cache line
+            if (!cached.referenced) {
+                cached.referenced = true;
+            }
+            return cached.value;
+        }
+        // threads that missed concurrently may compute the value twice, but all of them return the one that was stored
+        final Slot<V> computed = new Slot<>(factory.apply(key));
+        final Slot<V> existing = values.putIfAbsent(key, computed);
+        if (existing != null) {
+            return existing.value;
+        }
+        if (values.size() > maximumSize) {
+            evict();
+        }
+        return computed.value;
+    }
+
+    int size() {
+        return values.size();
+    }
+
+    // every pass clears the marks it skips, so the loop ends after at most two rounds
+    private synchronized void evict() {
+        while (values.size() > maximumSize) {
+            if (hand == null || !hand.hasNext()) {
+                hand = values.values().iterator();
+            }
+            final Slot<V> slot = hand.next();
+            if (slot.referenced) {
+                slot.referenced = false;
+            } else {
+                hand.remove();
+            }
+        }
+    }
+
+    private static final class Slot<V> {
+
+        private final V value;
+        private volatile boolean referenced;
+
+        private Slot(final V value) {
+            this.value = value;
+        }
+
+    }
+
+}
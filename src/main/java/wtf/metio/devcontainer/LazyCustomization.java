@@ -0,0 +1,70 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import tools.jackson.databind.DeserializationConfig;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.util.TokenBuffer;
+
+/**
+ * The settings of a single tool below {@code customizations}, kept as the buffered tokens of its JSON object until the
+ * first access decodes them into ordinary maps, lists, and scalars. The buffer is released once decoded. Like any
+ * other {@link AbstractMap}, instances compare equal to eagerly parsed maps with the same content; they are read-only.
+ * Decoding uses the configuration of the read that buffered the tokens, so features such as
+ * {@link tools.jackson.databind.DeserializationFeature#USE_BIG_DECIMAL_FOR_FLOATS} apply just like they do eagerly.
+ *
+ * @see DevcontainerModule#LAZY_CUSTOMIZATIONS
+ */
+final class LazyCustomization extends AbstractMap<String, Object> {
+
+  private static final ObjectReader UNTYPED = JsonMapper.shared().readerFor(Map.class);
+
+  private final DeserializationConfig config;
+  private TokenBuffer tokens;
+  private Map<String, Object> decoded;
+
+  LazyCustomization(final TokenBuffer tokens, final DeserializationConfig config) {
+    this.tokens = tokens;
+    this.config = config;
+  }
+
+  synchronized boolean isDecoded() {
+    return decoded != null;
+  }
+
+  @Override
+  public Set<Entry<String, Object>> entrySet() {
+    return decode().entrySet();
+  }
+
+  @Override
+  public Object get(final Object key) {
+    return decode().get(key);
+  }
+
+  @Override
+  public boolean containsKey(final Object key) {
+    return decode().containsKey(key);
+  }
+
+  @Override
+  public int size() {
+    return decode().size();
+  }
+
+  private synchronized Map<String, Object> decode() {
+    if (decoded == null) {
+      decoded = Collections.unmodifiableMap(UNTYPED.with(config).<Map<String, Object>>readValue(tokens));
+      tokens = null;
+    }
+    return decoded;
+  }
+
+}
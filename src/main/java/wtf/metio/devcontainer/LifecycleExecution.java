@@ -0,0 +1,55 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+
+/**
+ * The progress of a running {@link LifecyclePlan}. The stages up to {@code postStartCommand} run on their own, while
+ * {@code postAttachCommand} only runs when a tool attaches to the container, see {@link #attach()}.
+ */
+public final class LifecycleExecution {
+
+  private final CompletableFuture<Void> ready;
+  private final CompletableFuture<Void> completed;
+  private final Supplier<CompletableFuture<Void>> attach;
+
+  LifecycleExecution(
+      final CompletableFuture<Void> ready,
+      final CompletableFuture<Void> completed,
+      final Supplier<CompletableFuture<Void>> attach) {
+    this.ready = ready;
+    this.completed = completed;
+    this.attach = attach;
+  }
+
+  /**
+   * @return Completes once the {@code waitFor} stage finished, so tools may connect to the container, or exceptionally
+   *     with the first failure of a stage before.
+   */
+  public CompletableFuture<Void> ready() {
+    return ready;
+  }
+
+  /**
+   * @return Completes once all stages up to {@code postStartCommand} finished, or exceptionally with the first failure
+   *     of one of them.
+   */
+  public CompletableFuture<Void> completed() {
+    return completed;
+  }
+
+  /**
+   * Runs {@code postAttachCommand} for a tool that attaches to the container. Each call runs the command again, once
+   * all earlier stages {@link #completed()}; if one of them failed, the command does not run at all.
+   *
+   * @return Completes once all steps of {@code postAttachCommand} finished, or exceptionally with the first failure.
+   */
+  public CompletableFuture<Void> attach() {
+    return attach.get();
+  }
+
+}
@@ -0,0 +1,152 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+
+/**
+ * The lifecycle commands of a devcontainer as a sequence of stages, from {@code initializeCommand} to
+ * {@code postAttachCommand}. The string and array forms of a command are a stage with a single step; each entry of the
+ * object form is a step of its own, and all steps of a stage run in parallel. A stage starts once the previous one
+ * finished, and a failed step skips all later stages. Executing a plan runs the stages up to {@code postStartCommand};
+ * {@code postAttachCommand} runs each time a tool attaches, see {@link LifecycleExecution#attach()}.
+ * <p>
+ * Running a plan does not block: stages are chained as {@link CompletableFuture}s whose steps are submitted to an
+ * {@link Executor}, by default a new virtual thread per step.
+ *
+ * @see <a href="https://containers.dev/implementors/json_reference/#lifecycle-scripts">lifecycle scripts</a>
+ */
+public final class LifecyclePlan {
+
+  private static final Executor VIRTUAL_THREADS = step -> Thread.ofVirtual().name("devcontainer-lifecycle").start(step);
+
+  private final Map<WaitFor, List<LifecycleStep>> stages;
+  private final WaitFor waitFor;
+
+  private LifecyclePlan(final Map<WaitFor, List<LifecycleStep>> stages, final WaitFor waitFor) {
+    this.stages = stages;
+    this.waitFor = waitFor;
+  }
+
+  /**
+   * Plans the lifecycle commands of the given devcontainer.
+   *
+   * @param devcontainer The devcontainer to plan.
+   * @return The plan, waiting for {@code updateContentCommand} unless {@code waitFor} says otherwise.
+   */
+  public static LifecyclePlan of(final Devcontainer devcontainer) {
+    final Map<WaitFor, List<LifecycleStep>> stages = new EnumMap<>(WaitFor.class);
+    for (final WaitFor stage : WaitFor.values()) {
+      final List<LifecycleStep> steps = new ArrayList<>();
+      steps(stage, null, command(devcontainer, stage), steps);
+      stages.put(stage, Collections.unmodifiableList(steps));
+    }
+    final WaitFor waitFor = devcontainer.waitFor() == null ? WaitFor.updateContentCommand : devcontainer.waitFor();
+    return new LifecyclePlan(stages, waitFor);
+  }
+
+  /**
+   * Returns the steps of a stage, which run in parallel.
+   *
+   * @param stage The stage to look up.
+   * @return The steps of that stage, empty if the devcontainer does not define the command.
+   */
+  public List<LifecycleStep> steps(final WaitFor stage) {
+    return stages.get(stage);
+  }
+
+  public WaitFor waitFor() {
+    return waitFor;
+  }
+
+  /**
+   * Runs all stages up to {@code postStartCommand}, each step on a virtual thread of its own.
+   *
+   * @param commands The executor that runs each command.
+   * @return The futures to wait for.
+   */
+  public LifecycleExecution execute(final CommandExecutor commands) {
+    return execute(commands, VIRTUAL_THREADS);
+  }
+
+  /**
+   * Runs all stages up to {@code postStartCommand}, submitting each step to the given executor. The stages never block
+   * a thread while waiting for each other, so any executor works, including one that runs steps in the calling thread.
+   *
+   * @param commands The executor that runs each command.
+   * @param threads  The executor that provides the threads for the steps.
+   * @return The futures to wait for.
+   */
+  public LifecycleExecution execute(final CommandExecutor commands, final Executor threads) {
+    CompletableFuture<Void> chain = CompletableFuture.completedFuture(null);
+    CompletableFuture<Void> ready = null;
+    for (final WaitFor stage : WaitFor.values()) {
+      if (stage != WaitFor.postAttachCommand) {
+        final List<LifecycleStep> steps = stages.get(stage);
+        chain = chain.thenCompose(ignored -> stage(steps, commands, threads));
+      }
+      // postAttachCommand needs a connected tool to run, so waiting for it means waiting for postStartCommand
+      if (stage == waitFor) {
+        ready = chain;
+      }
+    }
+    final CompletableFuture<Void> completed = chain;
+    final List<LifecycleStep> attach = stages.get(WaitFor.postAttachCommand);
+    return new LifecycleExecution(ready, completed,
+        () -> completed.thenCompose(ignored -> stage(attach, commands, threads)));
+  }
+
+  private static CompletableFuture<Void> stage(final List<LifecycleStep> steps, final CommandExecutor commands,
+      final Executor threads) {
+    final CompletableFuture<?>[] running = new CompletableFuture<?>[steps.size()];
+    for (int index = 0; index < running.length; index++) {
+      final LifecycleStep step = steps.get(index);
+      running[index] = CompletableFuture.runAsync(() -> run(step, commands), threads);
+    }
+    return CompletableFuture.allOf(running);
+  }
+
+  private static void run(final LifecycleStep step, final CommandExecutor commands) {
+    try {
+      commands.execute(step);
+    } catch (final RuntimeException exception) {
+      throw exception;
+    } catch (final Exception exception) {
+      throw new CompletionException(exception);
+    }
+  }
+
+  // nested objects are not allowed by the schema, but are flattened for robustness, keeping the outermost name
+  private static void steps(final WaitFor stage, final String name, final Command command,
+      final List<LifecycleStep> steps) {
+    if (command == null) {
+      return;
+    }
+    if (command.object() != null) {
+      command.object().forEach((key, entry) -> steps(stage, name == null ? key : name, entry, steps));
+    } else if (command.string() != null || command.array() != null) {
+      steps.add(new LifecycleStep(stage, name, command));
+    }
+  }
+
+  private static Command command(final Devcontainer devcontainer, final WaitFor stage) {
+    return switch (stage) {
+      case initializeCommand -> devcontainer.initializeCommand();
+      case onCreateCommand -> devcontainer.onCreateCommand();
+      case updateContentCommand -> devcontainer.updateContentCommand();
+      case postCreateCommand -> devcontainer.postCreateCommand();
+      case postStartCommand -> devcontainer.postStartCommand();
+      case postAttachCommand -> devcontainer.postAttachCommand();
+    };
+  }
+
+}
@@ -0,0 +1,18 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+/**
+ * A single command of a {@link LifecyclePlan}.
+ *
+ * @param stage   The lifecycle command this step belongs to.
+ * @param name    The key of the step in the object form of the command, or {@code null} for the string and array forms.
+ * @param command The command to run, either in its string or its array form.
+ */
+public record LifecycleStep(
+    WaitFor stage,
+    String name,
+    Command command) {
+}
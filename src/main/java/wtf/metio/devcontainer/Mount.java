@@ -5,6 +5,7 @@
 package wtf.metio.devcontainer;
 
 import io.soabase.recordbuilder.core.RecordBuilder;
+import java.util.Map;
 import tools.jackson.databind.annotation.JsonDeserialize;
 
 /**
@@ -26,4 +27,17 @@ public record Mount(
         return MountBuilder.builder();
     }
 
+    /**
+     * Returns this mount with the fields of its string form split out. The string form is parsed on first access and
+     * the result shared by all mounts with the same string, so repeated calls do not parse again.
+     *
+     * @return The parsed mount, or {@code null} if neither form is set.
+     */
+    public MountSpec parsed() {
+        if (object != null) {
+            return new MountSpec(object.type(), object.source(), object.target(), false, null, Map.of());
+        }
+        return string == null ? null : MountSpec.parse(string);
+    }
+
 }
@@ -6,11 +6,16 @@ package wtf.metio.devcontainer;
 
 import tools.jackson.core.JacksonException;
 import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
 import tools.jackson.databind.DeserializationContext;
-import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.deser.std.StdDeserializer;
 import tools.jackson.databind.exc.MismatchedInputException;
 
+/**
+ * Chooses the {@code mounts} entry form by peeking at the current token: a string is kept verbatim, an object is read by
+ * the {@link MountObject} deserializer Jackson already has cached. Both forms are shared with equal mounts read before
+ * if the reader interns values.
+ */
 public final class MountDeserializer extends StdDeserializer<Mount> {
 
     public MountDeserializer() {
@@ -24,11 +29,11 @@ public final class MountDeserializer extends StdDeserializer<Mount> {
     @Override
     public Mount deserialize(final JsonParser parser, final DeserializationContext context)
             throws JacksonException {
-        final JsonNode node = context.readTree(parser);
-        if (node.isString()) {
-            return new Mount(node.stringValue(), null);
-        } else if (node.isObject()) {
-            return new Mount(null, context.readTreeAsValue(node, MountObject.class));
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_STRING) {
+            return new Mount(DevcontainerInterner.intern(context, parser.getString()), null);
+        } else if (token == JsonToken.START_OBJECT || token == JsonToken.PROPERTY_NAME) {
+            return new Mount(null, context.readValue(parser, MountObject.class));
         }
 
         throw MismatchedInputException.from(parser, Mount.class, "Cannot deserialize given input to Mount");
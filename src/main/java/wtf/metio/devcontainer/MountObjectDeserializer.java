@@ -0,0 +1,49 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static wtf.metio.devcontainer.ValueReaders.string;
+import static wtf.metio.devcontainer.ValueReaders.value;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+
+final class MountObjectDeserializer extends RecordDeserializer<MountObject, MountObjectBuilder> {
+
+    MountObjectDeserializer() {
+        super(MountObject.class);
+    }
+
+    @Override
+    MountObjectBuilder builder() {
+        return MountObject.builder();
+    }
+
+    @Override
+    boolean property(final MountObjectBuilder builder, final String name, final JsonParser parser,
+            final DeserializationContext context) throws JacksonException {
+        switch (name) {
+            case "type" -> builder.type(value(parser, context, MountType.class));
+            case "source" -> builder.source(string(parser, context));
+            case "target" -> builder.target(string(parser, context));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    MountObject complete(final MountObject value, final DeserializationContext context) {
+        return DevcontainerInterner.intern(context, value);
+    }
+
+    @Override
+    MountObject create(final MountObjectBuilder builder) {
+        return builder.create();
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import io.soabase.recordbuilder.core.RecordBuilder;
+import java.util.Map;
+
+/**
+ * A {@code mounts} entry with all fields of its string form split out, so callers can treat string and object mounts
+ * the same way.
+ *
+ * @param type        The kind of mount, or {@code null} if not set or not one of the {@link MountType} values.
+ * @param source      The source of the mount, given as {@code source} or {@code src}.
+ * @param target      The path inside the container, given as {@code target}, {@code destination}, or {@code dst}.
+ * @param readOnly    Whether the mount is read-only, given as {@code readonly} or {@code ro}.
+ * @param consistency The {@code consistency} option, or {@code null} if not set.
+ * @param options     All other options in declaration order, e.g. {@code bind-propagation} or {@code volume-opt}.
+ *                    Options without a value map to {@code null}.
+ * @see Mount#parsed()
+ */
+@RecordBuilder
+@RecordBuilder.Options(buildMethodName = "create")
+public record MountSpec(
+    MountType type,
+    String source,
+    String target,
+    boolean readOnly,
+    String consistency,
+    Map<String, String> options) implements MountSpecBuilder.With {
+
+    public static MountSpecBuilder builder() {
+        return MountSpecBuilder.builder();
+    }
+
+    /**
+     * Parses a mount in the syntax of the Docker CLI {@code --mount} flag. Identical strings share a single instance
+     * across all parsed configurations.
+     *
+     * @param mount The string form of a mount.
+     * @return The parsed mount.
+     */
+    public static MountSpec parse(final String mount) {
+        return MountSpecs.SHARED.get(mount);
+    }
+
+    public MountObject toObject() {
+        return new MountObject(type, source, target);
+    }
+
+}
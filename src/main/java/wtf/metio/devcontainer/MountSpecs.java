@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Parses string mounts and interns the results, which makes the shared table act as the memo of each {@link Mount} as
+ * well.
+ */
+final class MountSpecs {
+
+    static final InternTable<String, MountSpec> SHARED = new InternTable<>(4096, MountSpecs::parse);
+
+    private MountSpecs() {
+        // utility class
+    }
+
+    static MountSpec parse(final String mount) {
+        MountType type = null;
+        String source = null;
+        String target = null;
+        boolean readOnly = false;
+        String consistency = null;
+        final Map<String, String> options = new LinkedHashMap<>();
+        for (final String field : fields(mount)) {
+            final int separator = field.indexOf('=');
+            final String key = (separator < 0 ? field : field.substring(0, separator)).strip().toLowerCase(Locale.ROOT);
+            final String value = separator < 0 ? null : field.substring(separator + 1).strip();
+            switch (key) {
+                case "" -> {
+                    // empty field, e.g. a trailing comma
+                }
+                case "type" -> type = type(value);
+                case "source", "src" -> source = value;
+                case "target", "destination", "dst" -> target = value;
+                case "readonly", "ro" -> readOnly = value == null || "true".equalsIgnoreCase(value) || "1".equals(value);
+                case "consistency" -> consistency = value;
+                default -> options.put(key, value);
+            }
+        }
+        return new MountSpec(type, source, target, readOnly, consistency,
+            options.isEmpty() ? Map.of() : Collections.unmodifiableMap(options));
+    }
+
+    // like the CSV reader of the Docker CLI, double quotes protect commas and are removed from the field
+    private static List<String> fields(final String mount) {
+        final List<String> fields = new ArrayList<>();
+        final StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (int index = 0; index < mount.length(); index++) {
+            final char current = mount.charAt(index);
+            if (current == '"') {
+                quoted = !quoted;
+            } else if (current == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(current);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private static MountType type(final String value) {
+        for (final MountType type : MountType.values()) {
+            if (type.name().equals(value)) {
+                return type;
+            }
+        }
+        return null;
+    }
+
+}
@@ -0,0 +1,35 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.nio.file.Path;
+
+/**
+ * The outcome of parsing a single file as part of a batch. Exactly one of {@code devcontainer} and {@code failure} is
+ * set.
+ *
+ * @param path         The file that was parsed.
+ * @param devcontainer The parsed devcontainer, or {@code null} if parsing failed.
+ * @param failure      The exception raised while reading or parsing the file, or {@code null} if parsing succeeded.
+ * @see Devcontainer#parseAll(java.util.Collection)
+ */
+public record ParseResult(
+    Path path,
+    Devcontainer devcontainer,
+    RuntimeException failure) {
+
+  public static ParseResult success(final Path path, final Devcontainer devcontainer) {
+    return new ParseResult(path, devcontainer, null);
+  }
+
+  public static ParseResult failure(final Path path, final RuntimeException failure) {
+    return new ParseResult(path, null, failure);
+  }
+
+  public boolean succeeded() {
+    return failure == null;
+  }
+
+}
@@ -0,0 +1,26 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import io.soabase.recordbuilder.core.RecordBuilder;
+
+/**
+ * A single entry of {@code forwardPorts} or {@code appPort}, split into its optional host and its port number.
+ *
+ * @param host The host to forward to, e.g. {@code db} in {@code "db:5432"}, or {@code null} for a plain port number.
+ * @param port The port number, or {@code -1} if the entry is neither a number nor a "host:port" value.
+ * @see Ports
+ */
+@RecordBuilder
+@RecordBuilder.Options(buildMethodName = "create")
+public record Port(
+    String host,
+    int port) implements PortBuilder.With {
+
+    public static PortBuilder builder() {
+        return PortBuilder.builder();
+    }
+
+}
@@ -0,0 +1,52 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static wtf.metio.devcontainer.ValueReaders.bool;
+import static wtf.metio.devcontainer.ValueReaders.string;
+import static wtf.metio.devcontainer.ValueReaders.value;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+
+final class PortAttributeDeserializer extends RecordDeserializer<PortAttribute, PortAttributeBuilder> {
+
+    PortAttributeDeserializer() {
+        super(PortAttribute.class);
+    }
+
+    @Override
+    PortAttributeBuilder builder() {
+        return PortAttribute.builder();
+    }
+
+    @Override
+    boolean property(final PortAttributeBuilder builder, final String name, final JsonParser parser,
+            final DeserializationContext context) throws JacksonException {
+        switch (name) {
+            case "label" -> builder.label(string(parser, context));
+            case "protocol" -> builder.protocol(value(parser, context, Protocol.class));
+            case "onAutoForward" -> builder.onAutoForward(value(parser, context, OnAutoForward.class));
+            case "requireLocalPort" -> builder.requireLocalPort(bool(parser, context));
+            case "elevateIfNeeded" -> builder.elevateIfNeeded(bool(parser, context));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    PortAttribute complete(final PortAttribute value, final DeserializationContext context) {
+        return DevcontainerInterner.intern(context, value);
+    }
+
+    @Override
+    PortAttribute create(final PortAttributeBuilder builder) {
+        return builder.create();
+    }
+
+}
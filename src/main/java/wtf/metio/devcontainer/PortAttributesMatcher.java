@@ -0,0 +1,234 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+import java.util.regex.PatternSyntaxException;
+
+/**
+ * Resolves the {@link PortAttribute} of a port from the keys of {@code portsAttributes}, which may be single ports,
+ * "host:port" values, port ranges like {@code "40000-55000"}, or regular expressions. The keys are compiled once:
+ * single ports and "host:port" values into sorted tables, ranges into a sorted list of disjoint segments, and regular
+ * expressions into patterns. Matching a port therefore takes a binary search and allocates nothing, unless regular
+ * expressions have to be tested.
+ * <p>
+ * A "host:port" key of the requested host wins over a single port, which wins over a range, which wins over a regular
+ * expression. Among overlapping ranges and among regular expressions, the key declared first wins. Regular expressions
+ * are tested against the command line of the process that opened the port. Ports without a match resolve to
+ * {@code otherPortsAttributes}. Keys that are neither valid ports, ranges, nor regular expressions are ignored.
+ */
+public final class PortAttributesMatcher {
+
+    private final Table ports;
+    private final Map<String, Table> hosts;
+    private final int[] rangeStarts;
+    private final int[] rangeEnds;
+    private final PortAttribute[] rangeAttributes;
+    private final Pattern[] patterns;
+    private final PortAttribute[] patternAttributes;
+    private final PortAttribute other;
+
+    private PortAttributesMatcher(final Compiler compiler, final PortAttribute other) {
+        this.ports = new Table(compiler.ports);
+        this.hosts = new HashMap<>();
+        compiler.hosts.forEach((host, table) -> hosts.put(host, new Table(table)));
+        final List<int[]> segments = compiler.segments();
+        this.rangeStarts = new int[segments.size()];
+        this.rangeEnds = new int[segments.size()];
+        this.rangeAttributes = new PortAttribute[segments.size()];
+        for (int index = 0; index < segments.size(); index++) {
+            final int[] segment = segments.get(index);
+            rangeStarts[index] = segment[0];
+            rangeEnds[index] = segment[1];
+            rangeAttributes[index] = compiler.rangeAttributes.get(segment[2]);
+        }
+        this.patterns = compiler.patterns.toArray(Pattern[]::new);
+        this.patternAttributes = compiler.patternAttributes.toArray(PortAttribute[]::new);
+        this.other = other;
+    }
+
+    public static PortAttributesMatcher of(final Devcontainer devcontainer) {
+        return of(devcontainer.portsAttributes(), devcontainer.otherPortsAttributes());
+    }
+
+    /**
+     * Compiles the given attributes.
+     *
+     * @param portsAttributes      The port attributes keyed by port, "host:port", range, or regular expression. May be
+     *                             {@code null}.
+     * @param otherPortsAttributes The attributes of ports that match no key. May be {@code null}.
+     * @return The compiled matcher.
+     */
+    public static PortAttributesMatcher of(final Map<String, PortAttribute> portsAttributes,
+            final PortAttribute otherPortsAttributes) {
+        final Compiler compiler = new Compiler();
+        if (portsAttributes != null) {
+            portsAttributes.forEach(compiler::add);
+        }
+        return new PortAttributesMatcher(compiler, otherPortsAttributes);
+    }
+
+    public PortAttribute match(final int port) {
+        return match(null, port, null);
+    }
+
+    /**
+     * Resolves the attributes of a port.
+     *
+     * @param host        The host the port was opened on, or {@code null} to ignore "host:port" keys.
+     * @param port        The port number.
+     * @param commandLine The command line of the process that opened the port, or {@code null} to ignore regular
+     *                    expressions.
+     * @return The matching attributes, {@code otherPortsAttributes} if no key matches, which may be {@code null}.
+     */
+    public PortAttribute match(final String host, final int port, final String commandLine) {
+        if (host != null) {
+            final Table table = hosts.get(host);
+            final PortAttribute attribute = table == null ? null : table.get(port);
+            if (attribute != null) {
+                return attribute;
+            }
+        }
+        final PortAttribute exact = ports.get(port);
+        if (exact != null) {
+            return exact;
+        }
+        final int segment = Arrays.binarySearch(rangeStarts, port);
+        final int candidate = segment < 0 ? -segment - 2 : segment;
+        if (candidate >= 0 && port <= rangeEnds[candidate]) {
+            return rangeAttributes[candidate];
+        }
+        if (commandLine != null) {
+            for (int index = 0; index < patterns.length; index++) {
+                if (patterns[index].matcher(commandLine).find()) {
+                    return patternAttributes[index];
+                }
+            }
+        }
+        return other;
+    }
+
+    // sorted port numbers next to their attributes, searched with a binary search
+    private static final class Table {
+
+        private final int[] keys;
+        private final PortAttribute[] values;
+
+        private Table(final TreeMap<Integer, PortAttribute> entries) {
+            keys = entries.keySet().stream().mapToInt(Integer::intValue).toArray();
+            values = entries.values().toArray(PortAttribute[]::new);
+        }
+
+        private PortAttribute get(final int port) {
+            final int index = Arrays.binarySearch(keys, port);
+            return index < 0 ? null : values[index];
+        }
+
+    }
+
+    // sorts the keys into their kinds; the first declaration of a key wins
+    private static final class Compiler {
+
+        private final TreeMap<Integer, PortAttribute> ports = new TreeMap<>();
+        private final Map<String, TreeMap<Integer, PortAttribute>> hosts = new HashMap<>();
+        private final List<int[]> ranges = new ArrayList<>();
+        private final List<PortAttribute> rangeAttributes = new ArrayList<>();
+        private final List<Pattern> patterns = new ArrayList<>();
+        private final List<PortAttribute> patternAttributes = new ArrayList<>();
+
+        private void add(final String key, final PortAttribute attribute) {
+            if (attribute != null && !port(key, attribute) && !range(key, attribute) && !hostPort(key, attribute)) {
+                pattern(key, attribute);
+            }
+        }
+
+        private boolean port(final String key, final PortAttribute attribute) {
+            final int port = Ports.number(key, 0, key.length());
+            if (port == Ports.NO_PORT) {
+                return false;
+            }
+            ports.putIfAbsent(port, attribute);
+            return true;
+        }
+
+        private boolean range(final String key, final PortAttribute attribute) {
+            final int dash = key.indexOf('-');
+            final int start = dash < 0 ? Ports.NO_PORT : Ports.number(key, 0, dash);
+            final int end = start == Ports.NO_PORT ? Ports.NO_PORT : Ports.number(key, dash + 1, key.length());
+            if (end == Ports.NO_PORT || start > end) {
+                return false;
+            }
+            ranges.add(new int[]{start, end});
+            rangeAttributes.add(attribute);
+            return true;
+        }
+
+        private boolean hostPort(final String key, final PortAttribute attribute) {
+            final int separator = key.lastIndexOf(':');
+            final int port = separator <= 0 ? Ports.NO_PORT : Ports.number(key, separator + 1, key.length());
+            if (port == Ports.NO_PORT) {
+                return false;
+            }
+            hosts.computeIfAbsent(key.substring(0, separator), host -> new TreeMap<>()).putIfAbsent(port, attribute);
+            return true;
+        }
+
+        private void pattern(final String key, final PortAttribute attribute) {
+            try {
+                patterns.add(Pattern.compile(key));
+                patternAttributes.add(attribute);
+            } catch (final PatternSyntaxException exception) {
+                // not a valid key of any kind
+            }
+        }
+
+        /**
+         * Splits the possibly overlapping ranges at all of their bounds. Each resulting segment is assigned to the
+         * first declared range covering it, and consecutive segments of the same range are joined again. Ranges are
+         * contiguous, so such segments are always adjacent.
+         *
+         * @return Disjoint segments in ascending order as {start, end, index of range}.
+         */
+        private List<int[]> segments() {
+            final TreeSet<Integer> bounds = new TreeSet<>();
+            for (final int[] range : ranges) {
+                bounds.add(range[0]);
+                bounds.add(range[1] + 1);
+            }
+            final int[] points = bounds.stream().mapToInt(Integer::intValue).toArray();
+            final List<int[]> segments = new ArrayList<>();
+            for (int index = 1; index < points.length; index++) {
+                final int start = points[index - 1];
+                final int end = points[index] - 1;
+                final int owner = owner(start, end);
+                final int[] previous = segments.isEmpty() ? null : segments.getLast();
+                if (previous != null && previous[2] == owner) {
+                    previous[1] = end;
+                } else if (owner >= 0) {
+                    segments.add(new int[]{start, end, owner});
+                }
+            }
+            return segments;
+        }
+
+        private int owner(final int start, final int end) {
+            for (int index = 0; index < ranges.size(); index++) {
+                if (ranges.get(index)[0] <= start && end <= ranges.get(index)[1]) {
+                    return index;
+                }
+            }
+            return -1;
+        }
+
+    }
+
+}
@@ -0,0 +1,201 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * The values of {@code forwardPorts} or {@code appPort}, parsed once while the file is read. As a {@code List<String>}
+ * it returns the same values as before, while {@link #port(int)} and {@link #host(int)} give access to the parsed
+ * parts without splitting strings. Port numbers are kept in an {@code int[]}; host names and the original text of an
+ * entry are only stored for entries that are not plain numbers, so a list of numbers needs no further objects at all.
+ * <p>
+ * Instances are read-only. {@link Devcontainer#parsedForwardPorts()} and {@link Devcontainer#parsedAppPort()} return
+ * the instance created during deserialization, or parse the list of a record that was built in code.
+ */
+public final class Ports extends AbstractList<String> implements RandomAccess {
+
+    static final int NO_PORT = -1;
+    static final int MAX_PORT = 65_535;
+    private static final int MAX_DIGITS = 5;
+
+    private final int[] ports;
+    // null as long as no entry names a host
+    private final String[] hosts;
+    // null as long as every entry is a non-negative number; otherwise holds the text of all other entries
+    private final String[] texts;
+
+    private Ports(final int[] ports, final String[] hosts, final String[] texts) {
+        this.ports = ports;
+        this.hosts = hosts;
+        this.texts = texts;
+    }
+
+    /**
+     * Returns the given values as parsed ports.
+     *
+     * @param values The values of {@code forwardPorts} or {@code appPort}.
+     * @return The given instance if it already is parsed, {@code null} for {@code null}, a new instance otherwise.
+     */
+    public static Ports of(final List<String> values) {
+        if (values == null) {
+            return null;
+        } else if (values instanceof final Ports ports) {
+            return ports;
+        }
+        final Accumulator accumulator = new Accumulator(values.size());
+        values.forEach(accumulator::add);
+        return accumulator.toPorts();
+    }
+
+    /**
+     * @param index The index of the entry.
+     * @return The port number of the entry, or {@code -1} if it is neither a number nor a "host:port" value.
+     */
+    public int port(final int index) {
+        return ports[index];
+    }
+
+    /**
+     * @param index The index of the entry.
+     * @return The host of a "host:port" entry, {@code null} otherwise.
+     */
+    public String host(final int index) {
+        return hosts == null ? null : hosts[index];
+    }
+
+    public Port entry(final int index) {
+        return new Port(host(index), port(index));
+    }
+
+    /**
+     * @return {@code true} if at least one entry names a host; otherwise every valid entry is a plain port number.
+     */
+    public boolean hasHosts() {
+        return hosts != null;
+    }
+
+    /**
+     * @return A copy of all port numbers, with {@code -1} for entries that are not valid ports.
+     */
+    public int[] toPortArray() {
+        return ports.clone();
+    }
+
+    @Override
+    public String get(final int index) {
+        final String text = texts == null ? null : texts[index];
+        if (text == null && ports[index] != NO_PORT) {
+            return Integer.toString(ports[index]);
+        }
+        return text;
+    }
+
+    @Override
+    public int size() {
+        return ports.length;
+    }
+
+    /**
+     * Parses the digits between {@code start} and {@code end} as a port number.
+     *
+     * @return The number, or {@code -1} if the range is empty, contains anything but digits, or exceeds {@code 65535}.
+     */
+    static int number(final String value, final int start, final int end) {
+        final int length = end - start;
+        if (length == 0 || length > MAX_DIGITS) {
+            return NO_PORT;
+        }
+        int number = 0;
+        for (int index = start; index < end; index++) {
+            final char digit = value.charAt(index);
+            if (digit < '0' || digit > '9') {
+                return NO_PORT;
+            }
+            number = number * 10 + digit - '0';
+        }
+        return number > MAX_PORT ? NO_PORT : number;
+    }
+
+    /**
+     * Collects the entries of a port list one by one, used by {@link #of(List)} and while deserializing.
+     */
+    static final class Accumulator {
+
+        private int[] ports;
+        private String[] hosts;
+        private String[] texts;
+        private int size;
+
+        Accumulator(final int capacity) {
+            ports = new int[capacity];
+        }
+
+        void add(final int port) {
+            if (port < 0 || port > MAX_PORT) {
+                add(Integer.toString(port));
+            } else {
+                append(port, null, null);
+            }
+        }
+
+        void add(final String value) {
+            if (value == null) {
+                append(NO_PORT, null, null);
+                return;
+            }
+            final int separator = value.lastIndexOf(':');
+            final int port = number(value, separator + 1, value.length());
+            if (port == NO_PORT || separator == 0) {
+                append(NO_PORT, null, value);
+            } else if (separator < 0) {
+                append(port, null, isCanonical(value) ? null : value);
+            } else {
+                append(port, value.substring(0, separator), value);
+            }
+        }
+
+        Ports toPorts() {
+            return new Ports(Arrays.copyOf(ports, size), hosts == null ? null : Arrays.copyOf(hosts, size),
+                    texts == null ? null : Arrays.copyOf(texts, size));
+        }
+
+        private void append(final int port, final String host, final String text) {
+            if (size == ports.length) {
+                ports = Arrays.copyOf(ports, Math.max(4, size * 2));
+            }
+            if (host != null && hosts == null) {
+                hosts = new String[ports.length];
+            }
+            if (text != null && texts == null) {
+                texts = new String[ports.length];
+            }
+            ports[size] = port;
+            if (hosts != null) {
+                hosts = ensureCapacity(hosts);
+                hosts[size] = host;
+            }
+            if (texts != null) {
+                texts = ensureCapacity(texts);
+                texts[size] = text;
+            }
+            size++;
+        }
+
+        private String[] ensureCapacity(final String[] values) {
+            return values.length < ports.length ? Arrays.copyOf(values, ports.length) : values;
+        }
+
+        // a plain number without sign or leading zeros, so that printing it again yields the same text
+        private static boolean isCanonical(final String value) {
+            return value.charAt(0) != '0' || value.length() == 1;
+        }
+
+    }
+
+}
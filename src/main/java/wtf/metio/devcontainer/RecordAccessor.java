@@ -0,0 +1,54 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.RecordComponent;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads a single component of a record through a method handle. The accessors of each record type are looked up once
+ * and cached for the lifetime of its class. Exceptions and errors thrown by an accessor propagate unchanged; only
+ * checked throwables, which accessors cannot declare, are wrapped.
+ */
+record RecordAccessor(String name, MethodHandle handle) {
+
+  private static final ClassValue<List<RecordAccessor>> ACCESSORS = new ClassValue<>() {
+    @Override
+    protected List<RecordAccessor> computeValue(final Class<?> type) {
+      final List<RecordAccessor> accessors = new ArrayList<>();
+      for (final RecordComponent component : type.getRecordComponents()) {
+        accessors.add(new RecordAccessor(component.getName(), unreflect(component)));
+      }
+      return List.copyOf(accessors);
+    }
+  };
+
+  // the accessors of all components of a public record type, in declaration order
+  static List<RecordAccessor> of(final Class<?> type) {
+    return ACCESSORS.get(type);
+  }
+
+  static MethodHandle unreflect(final RecordComponent component) {
+    try {
+      return MethodHandles.publicLookup().unreflect(component.getAccessor());
+    } catch (final IllegalAccessException exception) {
+      throw new IllegalStateException(exception);
+    }
+  }
+
+  Object get(final Object record) {
+    try {
+      return handle.invoke(record);
+    } catch (final RuntimeException | Error unchecked) {
+      throw unchecked;
+    } catch (final Throwable throwable) {
+      throw new IllegalStateException(throwable);
+    }
+  }
+
+}
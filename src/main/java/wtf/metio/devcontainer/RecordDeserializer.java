@@ -0,0 +1,82 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.Set;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.deser.std.StdDeserializer;
+import tools.jackson.databind.exc.MismatchedInputException;
+
+/**
+ * Base for the hand-written record deserializers registered by {@link DevcontainerModule}. It walks the properties of a
+ * JSON object and lets subclasses fill the record's generated builder, so no record is introspected reflectively.
+ * Properties a subclass does not know are passed to {@link DeserializationContext#handleUnknownProperty}, which skips
+ * or rejects them according to {@code FAIL_ON_UNKNOWN_PROPERTIES}.
+ *
+ * @param <T> The record type.
+ * @param <B> The builder type generated for the record.
+ */
+abstract class RecordDeserializer<T, B> extends StdDeserializer<T> {
+
+    RecordDeserializer(final Class<T> type) {
+        super(type);
+    }
+
+    @Override
+    public final T deserialize(final JsonParser parser, final DeserializationContext context)
+            throws JacksonException {
+        JsonToken token = parser.currentToken();
+        if (token == JsonToken.START_OBJECT) {
+            token = parser.nextToken();
+        } else if (token != JsonToken.PROPERTY_NAME) {
+            throw MismatchedInputException.from(parser, handledType(),
+                    "Cannot deserialize given input to " + handledType().getSimpleName());
+        }
+        final B builder = builder();
+        final Set<?> projection = projection(context);
+        while (token == JsonToken.PROPERTY_NAME) {
+            final String name = parser.currentName();
+            parser.nextToken();
+            if (projection != null && !projection.contains(name)) {
+                parser.skipChildren();
+            } else if (!property(builder, name, parser, context)) {
+                context.handleUnknownProperty(parser, this, handledType(), name);
+            }
+            token = parser.nextToken();
+        }
+        return complete(create(builder), context);
+    }
+
+    abstract B builder();
+
+    /**
+     * Returns the names of the properties to read for a single record, or {@code null} to read all of them. The values of
+     * all other properties are skipped on the token level, so the corresponding components of the record stay unset.
+     */
+    Set<?> projection(final DeserializationContext context) {
+        return null;
+    }
+
+    /**
+     * Post-processes a record once all of its properties were read, e.g. to share it with equal records parsed before.
+     */
+    T complete(final T value, final DeserializationContext context) {
+        return value;
+    }
+
+    /**
+     * Reads the value of a single property into the builder. The parser is positioned at the first token of the value.
+     *
+     * @return {@code false} if the property is unknown and its value was left unread.
+     */
+    abstract boolean property(B builder, String name, JsonParser parser, DeserializationContext context)
+            throws JacksonException;
+
+    abstract T create(B builder);
+
+}
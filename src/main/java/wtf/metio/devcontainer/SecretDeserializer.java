@@ -0,0 +1,42 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static wtf.metio.devcontainer.ValueReaders.string;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+
+final class SecretDeserializer extends RecordDeserializer<Secret, SecretBuilder> {
+
+    SecretDeserializer() {
+        super(Secret.class);
+    }
+
+    @Override
+    SecretBuilder builder() {
+        return Secret.builder();
+    }
+
+    @Override
+    boolean property(final SecretBuilder builder, final String name, final JsonParser parser,
+            final DeserializationContext context) throws JacksonException {
+        switch (name) {
+            case "description" -> builder.description(string(parser, context));
+            case "documentationUrl" -> builder.documentationUrl(string(parser, context));
+            default -> {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    Secret create(final SecretBuilder builder) {
+        return builder.create();
+    }
+
+}
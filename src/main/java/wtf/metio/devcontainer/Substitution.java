@@ -0,0 +1,86 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.UnaryOperator;
+
+/**
+ * Resolves the variables of the properties that the devcontainer specification allows them in. Collections are only
+ * copied if one of their values changed, and unchanged values keep their identity.
+ */
+final class Substitution {
+
+    private Substitution() {
+        // utility class
+    }
+
+    static Devcontainer resolve(final Devcontainer devcontainer, final VariableSource source) {
+        final UnaryOperator<String> strings = text -> Template.resolve(text, source);
+        return devcontainer.with(builder -> builder
+            .remoteEnv(map(devcontainer.remoteEnv(), strings))
+            .containerEnv(map(devcontainer.containerEnv(), strings))
+            .workspaceMount(strings.apply(devcontainer.workspaceMount()))
+            .workspaceFolder(strings.apply(devcontainer.workspaceFolder()))
+            .mounts(list(devcontainer.mounts(), mount -> mount(mount, strings)))
+            .runArgs(list(devcontainer.runArgs(), strings)));
+    }
+
+    // "mounts": [null] parses to a null element, which is kept like any other value without variables
+    static Mount mount(final Mount mount, final UnaryOperator<String> strings) {
+        if (mount == null) {
+            return null;
+        }
+        final MountObject object = mount.object();
+        if (object == null) {
+            final String string = strings.apply(mount.string());
+            return string == mount.string() ? mount : mount.withString(string);
+        }
+        final String source = strings.apply(object.source());
+        final String target = strings.apply(object.target());
+        if (source == object.source() && target == object.target()) {
+            return mount;
+        }
+        return mount.withObject(new MountObject(object.type(), source, target));
+    }
+
+    static <V> Map<String, V> map(final Map<String, V> values, final UnaryOperator<V> resolver) {
+        if (values == null) {
+            return null;
+        }
+        Map<String, V> resolved = null;
+        for (final Map.Entry<String, V> entry : values.entrySet()) {
+            final V value = resolver.apply(entry.getValue());
+            if (value != entry.getValue()) {
+                if (resolved == null) {
+                    resolved = new LinkedHashMap<>(values);
+                }
+                resolved.put(entry.getKey(), value);
+            }
+        }
+        return resolved == null ? values : resolved;
+    }
+
+    static <V> List<V> list(final List<V> values, final UnaryOperator<V> resolver) {
+        if (values == null) {
+            return null;
+        }
+        List<V> resolved = null;
+        for (int index = 0; index < values.size(); index++) {
+            final V value = resolver.apply(values.get(index));
+            if (value != values.get(index)) {
+                if (resolved == null) {
+                    resolved = new ArrayList<>(values);
+                }
+                resolved.set(index, value);
+            }
+        }
+        return resolved == null ? values : resolved;
+    }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A string with variable references such as {@code ${localEnv:VAR:default}}, split once into its literal parts and
+ * variables. Compiled templates are shared by all identical strings, so resolving the same configuration for many
+ * variable sources scans each string only once. Strings without {@code ${} are never compiled and resolve to
+ * themselves.
+ * <p>
+ * A variable the source has no value for resolves to the default given after its second colon. Without a default, an
+ * unset {@code ${localEnv:VAR}} resolves to an empty string as the specification demands, while all other variables,
+ * e.g. {@code ${containerEnv:PATH}} that only the container can resolve, are kept as written.
+ */
+public final class Template {
+
+    private static final InternTable<String, Template> COMPILED = new InternTable<>(4096, Template::parse);
+
+    private final String text;
+    // literals[i] precedes variable i; the last literal follows the last variable
+    private final String[] literals;
+    private final String[] names;
+    private final String[] arguments;
+    private final String[] fallbacks;
+    private final String[] references;
+
+    private Template(final String text, final List<String> literals, final List<String> references) {
+        this.text = text;
+        this.literals = literals.toArray(String[]::new);
+        this.references = references.toArray(String[]::new);
+        this.names = new String[this.references.length];
+        this.arguments = new String[this.references.length];
+        this.fallbacks = new String[this.references.length];
+        for (int index = 0; index < this.references.length; index++) {
+            final String reference = this.references[index];
+            final String[] parts = reference.substring(2, reference.length() - 1).split(":", 3);
+            names[index] = parts[0];
+            arguments[index] = parts.length > 1 ? parts[1] : null;
+            fallbacks[index] = parts.length > 2 ? parts[2] : fallback(parts[0], reference);
+        }
+    }
+
+    /**
+     * Resolves all variables in the given string. Strings without {@code ${} are returned as they are.
+     *
+     * @param text   The string to resolve, or {@code null}.
+     * @param source The source of the variable values.
+     * @return The resolved string.
+     */
+    public static String resolve(final String text, final VariableSource source) {
+        if (text == null || !text.contains("${")) {
+            return text;
+        }
+        return compile(text).resolve(source);
+    }
+
+    /**
+     * Compiles the given string, reusing the template of an identical string compiled before.
+     *
+     * @param text The string to compile.
+     * @return The compiled template.
+     */
+    public static Template compile(final String text) {
+        return COMPILED.get(text);
+    }
+
+    public String resolve(final VariableSource source) {
+        if (references.length == 0) {
+            return text;
+        }
+        final StringBuilder resolved = new StringBuilder(text.length());
+        for (int index = 0; index < references.length; index++) {
+            resolved.append(literals[index]).append(value(index, source));
+        }
+        return resolved.append(literals[references.length]).toString();
+    }
+
+    public boolean isConstant() {
+        return references.length == 0;
+    }
+
+    @Override
+    public String toString() {
+        return text;
+    }
+
+    private String value(final int index, final VariableSource source) {
+        final String value = source.lookup(names[index], arguments[index]);
+        return value == null ? fallbacks[index] : value;
+    }
+
+    private static String fallback(final String name, final String reference) {
+        return "localEnv".equals(name) ? "" : reference;
+    }
+
+    // a reference runs from "${" to the next "}"; an unterminated one is kept as literal text
+    private static Template parse(final String text) {
+        final List<String> literals = new ArrayList<>();
+        final List<String> references = new ArrayList<>();
+        int position = 0;
+        int start = text.indexOf("${");
+        while (start >= 0) {
+            final int end = text.indexOf('}', start + 2);
+            if (end < 0) {
+                break;
+            }
+            literals.add(text.substring(position, start));
+            references.add(text.substring(start, end + 1));
+            position = end + 1;
+            start = text.indexOf("${", position);
+        }
+        literals.add(text.substring(position));
+        return new Template(text, literals, references);
+    }
+
+}
@@ -0,0 +1,21 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationContext;
+
+/**
+ * Reads a single value starting at the current token of a parser.
+ *
+ * @param <V> The type of the value.
+ */
+@FunctionalInterface
+interface ValueReader<V> {
+
+    V read(JsonParser parser, DeserializationContext context) throws JacksonException;
+
+}
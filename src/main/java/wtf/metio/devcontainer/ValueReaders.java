@@ -0,0 +1,148 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.core.JsonToken;
+import tools.jackson.databind.DeserializationContext;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.exc.MismatchedInputException;
+
+/**
+ * Token level readers shared by the hand-written deserializers. The common scalar shapes are taken directly from the
+ * parser; everything else falls back to the deserializers Jackson has cached, which keeps coercion rules and error
+ * messages identical to reflective data binding. The names of map entries and the values of {@link #interned} strings
+ * are shared through the {@link DevcontainerInterner} of the reader, if it has one.
+ */
+final class ValueReaders {
+
+    private ValueReaders() {
+        // utility class
+    }
+
+    static String string(final JsonParser parser, final DeserializationContext context) throws JacksonException {
+        if (parser.currentToken() == JsonToken.VALUE_STRING) {
+            return parser.getString();
+        }
+        return value(parser, context, String.class);
+    }
+
+    // for strings that repeat across many files, e.g. image names or the values of environment variables
+    static String interned(final JsonParser parser, final DeserializationContext context) throws JacksonException {
+        return DevcontainerInterner.intern(context, string(parser, context));
+    }
+
+    static Boolean bool(final JsonParser parser, final DeserializationContext context) throws JacksonException {
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_TRUE) {
+            return Boolean.TRUE;
+        } else if (token == JsonToken.VALUE_FALSE) {
+            return Boolean.FALSE;
+        }
+        return value(parser, context, Boolean.class);
+    }
+
+    static Integer integer(final JsonParser parser, final DeserializationContext context) throws JacksonException {
+        if (parser.currentToken() == JsonToken.VALUE_NUMBER_INT) {
+            return parser.getIntValue();
+        }
+        return value(parser, context, Integer.class);
+    }
+
+    static <V> V value(final JsonParser parser, final DeserializationContext context, final Class<V> type)
+            throws JacksonException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return context.readValue(parser, type);
+    }
+
+    static <V> V nullable(final JsonParser parser, final DeserializationContext context,
+            final ValueReader<V> reader) throws JacksonException {
+        if (parser.currentToken() == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        return reader.read(parser, context);
+    }
+
+    static <V> ValueReader<Map<String, V>> mapOf(final ValueReader<V> reader) {
+        return (parser, context) -> map(parser, context, reader);
+    }
+
+    static <V> List<V> list(final JsonParser parser, final DeserializationContext context,
+            final ValueReader<V> reader) throws JacksonException {
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        } else if (token != JsonToken.START_ARRAY) {
+            if (context.isEnabled(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)) {
+                final List<V> single = new ArrayList<>(1);
+                single.add(reader.read(parser, context));
+                return single;
+            }
+            throw MismatchedInputException.from(parser, List.class, "Cannot deserialize given input to List");
+        }
+        final List<V> values = new ArrayList<>();
+        for (JsonToken element = parser.nextToken(); element != JsonToken.END_ARRAY; element = parser.nextToken()) {
+            values.add(element == JsonToken.VALUE_NULL ? null : reader.read(parser, context));
+        }
+        return values;
+    }
+
+    // mirrors list(), but keeps numbers as ints instead of turning them into strings
+    static Ports ports(final JsonParser parser, final DeserializationContext context) throws JacksonException {
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        final Ports.Accumulator ports = new Ports.Accumulator(4);
+        if (token != JsonToken.START_ARRAY) {
+            if (!context.isEnabled(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)) {
+                throw MismatchedInputException.from(parser, List.class, "Cannot deserialize given input to List");
+            }
+            port(parser, context, ports);
+            return ports.toPorts();
+        }
+        for (JsonToken element = parser.nextToken(); element != JsonToken.END_ARRAY; element = parser.nextToken()) {
+            port(parser, context, ports);
+        }
+        return ports.toPorts();
+    }
+
+    private static void port(final JsonParser parser, final DeserializationContext context,
+            final Ports.Accumulator ports) throws JacksonException {
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NUMBER_INT && parser.getNumberType() == JsonParser.NumberType.INT) {
+            ports.add(parser.getIntValue());
+        } else {
+            ports.add(token == JsonToken.VALUE_NULL ? null : string(parser, context));
+        }
+    }
+
+    static <V> Map<String, V> map(final JsonParser parser, final DeserializationContext context,
+            final ValueReader<V> reader) throws JacksonException {
+        final JsonToken token = parser.currentToken();
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        } else if (token != JsonToken.START_OBJECT && token != JsonToken.PROPERTY_NAME) {
+            throw MismatchedInputException.from(parser, Map.class, "Cannot deserialize given input to Map");
+        }
+        final Map<String, V> values = new LinkedHashMap<>();
+        String name = token == JsonToken.PROPERTY_NAME ? parser.currentName() : parser.nextName();
+        while (name != null) {
+            final JsonToken value = parser.nextToken();
+            values.put(DevcontainerInterner.intern(context, name),
+                    value == JsonToken.VALUE_NULL ? null : reader.read(parser, context));
+            name = parser.nextName();
+        }
+        return values;
+    }
+
+}
@@ -0,0 +1,27 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+/**
+ * Supplies the values of the variables referenced in devcontainer.json, e.g. {@code ${localWorkspaceFolder}} or
+ * {@code ${localEnv:HOME}}.
+ *
+ * @see Template
+ */
+@FunctionalInterface
+public interface VariableSource {
+
+  /**
+   * Looks up a single variable.
+   *
+   * @param name     The name of the variable, e.g. {@code localEnv} or {@code localWorkspaceFolder}.
+   * @param argument The part after the first colon, e.g. {@code HOME} in {@code ${localEnv:HOME}}, or {@code null}.
+   * @return The value, or {@code null} if the variable is unknown or unset. Those fall back to the default given after a
+   *     second colon, or else resolve to an empty string for {@code localEnv} and are left as they were written
+   *     otherwise.
+   */
+  String lookup(String name, String argument);
+
+}
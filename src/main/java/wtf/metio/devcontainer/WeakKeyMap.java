@@ -0,0 +1,104 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A concurrent map that references its keys only weakly, so an entry disappears once its key was collected. Keys are
+ * compared either by identity, which never calls the possibly deep {@code equals} and {@code hashCode} of a record, or
+ * by {@code equals}. Every entry keeps the hash of its key, so the entries of collected keys can still be found, and
+ * they are removed on the next access.
+ *
+ * @param <K> The type of the keys.
+ * @param <V> The type of the values, which must not reference their key strongly.
+ */
+final class WeakKeyMap<K, V> {
+
+  private final boolean identity;
+  private final ReferenceQueue<K> collected = new ReferenceQueue<>();
+  private final Map<Entry<K, V>, Entry<K, V>> entries = new ConcurrentHashMap<>();
+
+  private WeakKeyMap(final boolean identity) {
+    this.identity = identity;
+  }
+
+  static <K, V> WeakKeyMap<K, V> byIdentity() {
+    return new WeakKeyMap<>(true);
+  }
+
+  static <K, V> WeakKeyMap<K, V> byEquality() {
+    return new WeakKeyMap<>(false);
+  }
+
+  // the entry of a key equal to the given one, or null
+  Entry<K, V> get(final K key) {
+    expunge();
+    return entries.get(new Entry<>(key, null, identity, null));
+  }
+
+  // the entry of a key equal to the given one that was stored before, or null once the given key was stored
+  Entry<K, V> putIfAbsent(final K key, final V value) {
+    expunge();
+    final Entry<K, V> entry = new Entry<>(key, value, identity, collected);
+    return entries.putIfAbsent(entry, entry);
+  }
+
+  int size() {
+    expunge();
+    return entries.size();
+  }
+
+  private void expunge() {
+    Reference<? extends K> reference;
+    while ((reference = collected.poll()) != null) {
+      entries.remove(reference);
+    }
+  }
+
+  /**
+   * A key and its value. The key itself is returned by {@link #get()}, which yields {@code null} once it was collected.
+   */
+  static final class Entry<K, V> extends WeakReference<K> {
+
+    private final V value;
+    private final boolean identity;
+    private final int hash;
+
+    Entry(final K key, final V value, final boolean identity, final ReferenceQueue<K> queue) {
+      super(key, queue);
+      this.value = value;
+      this.identity = identity;
+      this.hash = identity ? System.identityHashCode(key) : key.hashCode();
+    }
+
+    V value() {
+      return value;
+    }
+
+    @Override
+    public int hashCode() {
+      return hash;
+    }
+
+    @Override
+    public boolean equals(final Object other) {
+      if (this == other) {
+        return true;
+      }
+      if (other instanceof Entry<?, ?> entry) {
+        final Object key = get();
+        return key != null && (identity ? key == entry.get() : hash == entry.hash && key.equals(entry.get()));
+      }
+      return false;
+    }
+
+  }
+
+}
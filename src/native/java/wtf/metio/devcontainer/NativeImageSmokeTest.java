@@ -5,13 +5,15 @@
 package wtf.metio.devcontainer;
 
 import java.util.List;
+import tools.jackson.databind.json.JsonMapper;
 
 /**
  * Stand-in for a downstream consumer such as ilo: a minimal program that depends on the library and
- * is compiled to a GraalVM native image by the {@code native} profile. It drives the
- * reflection-backed JSON parsing and the generated builders, so a successful native build and run
- * proves that the records and their {@code reflect-config.json} resolve under native-image. If this
- * image builds and runs, any project depending on the library can native-compile it as well.
+ * is compiled to a GraalVM native image by the {@code native} profile. It drives the streaming
+ * deserializers of {@link DevcontainerModule}, the reflection-backed binding a plain mapper falls
+ * back to, and the generated builders, so a successful native build and run proves that the records
+ * and their {@code reflect-config.json} resolve under native-image. If this image builds and runs,
+ * any project depending on the library can native-compile it as well.
  *
  * <p>This class lives outside {@code src/main/java} and is only compiled when the {@code native}
  * profile adds {@code src/native/java} as a source root, so it never ships in the published jar.
@@ -39,6 +41,10 @@ public final class NativeImageSmokeTest {
     require("a token".equals(parsed.secrets().get("TOKEN").description()), "secrets.description");
     require(MountType.volume.equals(parsed.mounts().get(0).object().type()), "mounts.type");
 
+    final var reflective = Devcontainer.parse("{\"image\": \"example:123\", \"build\": {\"target\": \"dev\"}}",
+        JsonMapper.builder().build());
+    require("dev".equals(reflective.build().target()), "reflective build.target");
+
     final var built = Devcontainer.builder().name("built").image("quay.io/x:1").create();
     require("built".equals(built.name()), "builder");
     require("renamed".equals(built.withName("renamed").name()), "wither");
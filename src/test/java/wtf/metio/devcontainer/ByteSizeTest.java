@@ -0,0 +1,73 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+
+class ByteSizeTest {
+
+  @Test
+  void parsesSizes() {
+    assertAll(
+        () -> assertEquals(0, ByteSize.parse("0")),
+        () -> assertEquals(512, ByteSize.parse("512")),
+        () -> assertEquals(1024, ByteSize.parse("1kb")),
+        () -> assertEquals(4L << 20, ByteSize.parse("4MB")),
+        () -> assertEquals(4L << 30, ByteSize.parse("4gb")),
+        () -> assertEquals(32L << 30, ByteSize.parse("32Gb")),
+        () -> assertEquals(2L << 40, ByteSize.parse("2tB")),
+        () -> assertEquals(8388607L << 40, ByteSize.parse("8388607tb")),
+        () -> assertEquals(Long.MAX_VALUE, ByteSize.parse("9223372036854775807")));
+  }
+
+  @Test
+  void rejectsInvalidSizes() {
+    assertAll(Stream.of("", "gb", "4g", "4gx", "4 gb", "4gib", "4pb", "4xb", "-4gb", "1.5gb", "4gbb")
+        .map(size -> () -> assertThrows(IllegalArgumentException.class, () -> ByteSize.parse(size), size)));
+  }
+
+  @Test
+  void rejectsOverflow() {
+    assertAll(Stream.of("8388608tb", "9223372036854775808", "99999999999999999999kb")
+        .map(size -> () -> assertThrows(IllegalArgumentException.class, () -> ByteSize.parse(size), size)));
+  }
+
+  @Test
+  void returnsUnsetForNull() {
+    assertEquals(ByteSize.UNSET, ByteSize.parse(null));
+  }
+
+  @Test
+  void parsesRequirementsOnce() {
+    final HostRequirements requirements = HostRequirements.builder().memory("12345gb").create();
+    final Long first = ByteSize.PARSED.get("12345gb");
+    assertAll(
+        () -> assertEquals(12345L << 30, requirements.memoryBytes()),
+        () -> assertEquals(12345L << 30, requirements.memoryBytes()),
+        () -> assertSame(first, ByteSize.PARSED.get("12345gb")),
+        () -> assertThrows(IllegalArgumentException.class, () -> requirements.withStorage("4g").storageBytes()));
+  }
+
+  @Test
+  void exposesRequirementsInBytes() {
+    final HostRequirements requirements = HostRequirements.builder()
+        .memory("4gb")
+        .storage("32gb")
+        .gpu(new Gpu(null, null, new GpuRequirements(2, "8gb")))
+        .create();
+    assertAll(
+        () -> assertEquals(4L << 30, requirements.memoryBytes()),
+        () -> assertEquals(32L << 30, requirements.storageBytes()),
+        () -> assertEquals(8L << 30, requirements.gpu().requirements().memoryBytes()),
+        () -> assertEquals(ByteSize.UNSET, HostRequirements.builder().create().memoryBytes()));
+  }
+
+}
@@ -0,0 +1,91 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+
+class CachedHashesTest {
+
+  private static final String JSON = """
+      {
+        "name": "example",
+        "build": {"dockerfile": "Dockerfile", "args": {"VARIANT": "17"}},
+        "features": {"ghcr.io/devcontainers/features/node:1": {"version": "lts"}},
+        "postCreateCommand": {"server": "npm install", "client": ["yarn", "install"]}
+      }
+      """;
+
+  @Test
+  void equalsParsedCopies() {
+    final Devcontainer first = Devcontainer.parse(JSON);
+    final Devcontainer second = Devcontainer.parse(JSON);
+    assertAll(
+        () -> assertEquals(first, second),
+        () -> assertEquals(first.hashCode(), second.hashCode()),
+        () -> assertEquals(first.build(), second.build()),
+        () -> assertEquals(first.postCreateCommand(), second.postCreateCommand()));
+  }
+
+  @Test
+  void cachesHashPerInstance() {
+    final Devcontainer devcontainer = Devcontainer.parse(JSON);
+    final Devcontainer copy = Devcontainer.parse(JSON);
+    final int hash = devcontainer.hashCode();
+    assertAll(
+        () -> assertTrue(CachedHashes.cached(devcontainer)),
+        () -> assertFalse(CachedHashes.cached(copy)),
+        () -> assertEquals(CachedHashes.structuralHashCode(devcontainer), hash),
+        () -> assertEquals(hash, devcontainer.hashCode()));
+  }
+
+  @Test
+  void distinguishesChangedComponents() {
+    final Devcontainer devcontainer = Devcontainer.parse(JSON);
+    assertAll(
+        () -> assertNotEquals(devcontainer, devcontainer.withName("other")),
+        () -> assertNotEquals(devcontainer.build(), devcontainer.build().withTarget("dev")),
+        () -> assertNotEquals(devcontainer.postCreateCommand(), Command.builder().string("npm install").create()));
+  }
+
+  @Test
+  void comparesComponentsOnHashCollisions() {
+    // "Aa" and "BB" share the same String hash code
+    final Build first = Build.builder().dockerfile("Aa").create();
+    final Build second = Build.builder().dockerfile("BB").create();
+    assertAll(
+        () -> assertEquals(first.hashCode(), second.hashCode()),
+        () -> assertNotEquals(first, second));
+  }
+
+  @Test
+  void checksIdentityAndType() {
+    final Devcontainer devcontainer = Devcontainer.parse(JSON);
+    assertAll(
+        () -> assertTrue(devcontainer.equals(devcontainer)),
+        () -> assertTrue(devcontainer.build().equals(devcontainer.build())),
+        () -> assertTrue(devcontainer.postCreateCommand().equals(devcontainer.postCreateCommand())),
+        () -> assertFalse(devcontainer.equals(devcontainer.build())),
+        () -> assertFalse(devcontainer.build().equals(null)),
+        () -> assertFalse(devcontainer.postCreateCommand().equals("npm install")));
+  }
+
+  @Test
+  void deduplicatesInSets() {
+    final Set<Devcontainer> unique = new HashSet<>(List.of(Devcontainer.parse(JSON), Devcontainer.parse(JSON),
+        Devcontainer.builder().features(Map.of()).create()));
+    assertEquals(2, unique.size());
+  }
+
+}
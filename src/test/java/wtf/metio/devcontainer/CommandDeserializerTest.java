@@ -6,11 +6,15 @@ package wtf.metio.devcontainer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.util.List;
 import org.junit.jupiter.api.Test;
 import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.JsonNode;
 import tools.jackson.databind.ObjectMapper;
 
 class CommandDeserializerTest {
@@ -33,6 +37,50 @@ class CommandDeserializerTest {
     assertEquals("npm start", command.object().get("server").string());
   }
 
+  @Test
+  void deserializesNestedObject() {
+    final Command command = mapper.readValue("""
+        {"setup": {"install": ["npm", "ci"], "build": "npm run build"}, "skip": null}
+        """, Command.class);
+    assertIterableEquals(List.of("npm", "ci"), command.object().get("setup").object().get("install").array());
+    assertEquals("npm run build", command.object().get("setup").object().get("build").string());
+    assertTrue(command.object().containsKey("skip"));
+    assertNull(command.object().get("skip"));
+  }
+
+  @Test
+  void deserializesObjectFromPropertyName() {
+    try (JsonParser parser = mapper.createParser("{\"server\": \"npm start\"}")) {
+      parser.nextToken();
+      parser.nextToken();
+      final Command command = mapper.readerFor(Command.class).readValue(parser);
+      assertEquals("npm start", command.object().get("server").string());
+    }
+  }
+
+  @Test
+  void deserializesEmptyObject() {
+    assertTrue(mapper.readValue("{}", Command.class).object().isEmpty());
+  }
+
+  @Test
+  void doesNotBuildTree() {
+    final CountingNodeFactory nodes = new CountingNodeFactory();
+    final Command command = mapper.readerFor(Command.class).with(nodes).readValue("""
+        {"server": "npm start", "db": ["mysql", "-u", "root"], "nested": {"a": "b", "c": ["d"]}}
+        """);
+    assertEquals("npm start", command.object().get("server").string());
+    assertEquals(0, nodes.created());
+  }
+
+  @Test
+  void countingNodeFactoryObservesTrees() {
+    final CountingNodeFactory nodes = new CountingNodeFactory();
+    final JsonNode tree = mapper.readerFor(JsonNode.class).with(nodes).readValue("{\"a\": [\"b\"]}");
+    assertTrue(tree.isObject());
+    assertEquals(3, nodes.created());
+  }
+
   @Test
   void rejectsNumber() {
     assertThrows(JacksonException.class, () -> mapper.readValue("123", Command.class));
@@ -0,0 +1,51 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import tools.jackson.databind.node.ArrayNode;
+import tools.jackson.databind.node.JsonNodeFactory;
+import tools.jackson.databind.node.ObjectNode;
+import tools.jackson.databind.node.StringNode;
+
+/**
+ * Counts the container and string nodes a tree-building deserializer allocates. Install it with
+ * {@code ObjectReader.with(JsonNodeFactory)} to assert that a deserializer stays on the token stream.
+ */
+final class CountingNodeFactory extends JsonNodeFactory {
+
+  private static final long serialVersionUID = 1L;
+
+  private final AtomicInteger created = new AtomicInteger();
+
+  int created() {
+    return created.get();
+  }
+
+  @Override
+  public ObjectNode objectNode() {
+    created.incrementAndGet();
+    return super.objectNode();
+  }
+
+  @Override
+  public ArrayNode arrayNode() {
+    created.incrementAndGet();
+    return super.arrayNode();
+  }
+
+  @Override
+  public ArrayNode arrayNode(final int capacity) {
+    created.incrementAndGet();
+    return super.arrayNode(capacity);
+  }
+
+  @Override
+  public StringNode stringNode(final String text) {
+    created.incrementAndGet();
+    return super.stringNode(text);
+  }
+
+}
@@ -0,0 +1,158 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.exc.JacksonIOException;
+
+class DevcontainerCacheTest {
+
+  @TempDir
+  private Path directory;
+
+  private Path file;
+
+  @BeforeEach
+  void writeFile() throws IOException {
+    file = Files.writeString(directory.resolve("devcontainer.json"), "{\"name\":\"example\"}");
+  }
+
+  @Test
+  void returnsSameInstanceForUnchangedFile() {
+    final DevcontainerCache cache = new DevcontainerCache(10);
+    final Devcontainer first = cache.parse(file);
+    assertAll(
+        () -> assertSame(first, cache.parse(file)),
+        () -> assertSame(first, cache.parse(directory.resolve("../" + directory.getFileName() + "/devcontainer.json"))),
+        () -> assertEquals(new CacheStats(2, 1, 0), cache.stats()));
+  }
+
+  @Test
+  void reusesInstanceWhenOnlyTimestampChanged() throws IOException {
+    final DevcontainerCache cache = new DevcontainerCache(10);
+    final Devcontainer first = cache.parse(file);
+    Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+    assertSame(first, cache.parse(file));
+    assertSame(first, cache.parse(file));
+    assertEquals(new CacheStats(2, 1, 0), cache.stats());
+  }
+
+  @Test
+  void parsesChangedContent() throws IOException {
+    final DevcontainerCache cache = new DevcontainerCache(10);
+    final Devcontainer first = cache.parse(file);
+    final FileTime modified = Files.getLastModifiedTime(file);
+    Files.writeString(file, "{\"name\":\"changed name\"}");
+    Files.setLastModifiedTime(file, modified);
+    final Devcontainer second = cache.parse(file);
+    assertAll(
+        () -> assertNotSame(first, second),
+        () -> assertEquals("changed name", second.name()),
+        () -> assertEquals(new CacheStats(0, 2, 0), cache.stats()));
+  }
+
+  @Test
+  void evictsLeastRecentlyUsed() throws IOException {
+    final DevcontainerCache cache = new DevcontainerCache(2);
+    final Path other = Files.writeString(directory.resolve("other.json"), "{}");
+    final Path third = Files.writeString(directory.resolve("third.json"), "{}");
+    final Devcontainer first = cache.parse(file);
+    cache.parse(other);
+    cache.parse(file);
+    cache.parse(third);
+    assertAll(
+        () -> assertEquals(2, cache.size()),
+        () -> assertSame(first, cache.parse(file)),
+        () -> assertEquals(new CacheStats(2, 3, 1), cache.stats()));
+    cache.parse(other);
+    assertEquals(new CacheStats(2, 4, 2), cache.stats());
+  }
+
+  @Test
+  void invalidatesEntries() throws IOException {
+    final DevcontainerCache cache = new DevcontainerCache(10);
+    final Path other = Files.writeString(directory.resolve("other.json"), "{}");
+    final Devcontainer first = cache.parse(file);
+    cache.parse(other);
+    cache.invalidate(file);
+    assertEquals(1, cache.size());
+    assertNotSame(first, cache.parse(file));
+    cache.invalidateAll();
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void parsesWithCustomMapper() {
+    final DevcontainerCache cache = new DevcontainerCache(1, Devcontainer.defaultObjectMapper());
+    assertEquals("example", cache.parse(file).name());
+  }
+
+  @Test
+  void isSafeForConcurrentUse() throws Exception {
+    final DevcontainerCache cache = new DevcontainerCache(10);
+    final Devcontainer first = cache.parse(file);
+    final List<Future<Devcontainer>> results = new ArrayList<>();
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int index = 0; index < 100; index++) {
+        results.add(executor.submit(() -> cache.parse(file)));
+      }
+    }
+    for (final Future<Devcontainer> result : results) {
+      assertSame(first, result.get());
+    }
+    assertEquals(new CacheStats(100, 1, 0), cache.stats());
+  }
+
+  @Test
+  void doesNotCacheFailures() throws IOException {
+    final DevcontainerCache cache = new DevcontainerCache(10);
+    Files.writeString(file, "{\"name\":");
+    assertThrows(JacksonException.class, () -> cache.parse(file));
+    assertEquals(0, cache.size());
+  }
+
+  @Test
+  void rejectsMissingFile() {
+    final DevcontainerCache cache = new DevcontainerCache(10);
+    assertThrows(JacksonIOException.class, () -> cache.parse(directory.resolve("missing.json")));
+  }
+
+  @Test
+  void rejectsNonPositiveSize() {
+    assertThrows(IllegalArgumentException.class, () -> new DevcontainerCache(0));
+  }
+
+  @Test
+  void rejectsUnknownDigest() {
+    assertThrows(IllegalStateException.class, () -> DevcontainerCache.digest("unknown"));
+  }
+
+  @Test
+  void computesHitRate() {
+    assertAll(
+        () -> assertEquals(1.0, new CacheStats(0, 0, 0).hitRate()),
+        () -> assertEquals(0.75, new CacheStats(3, 1, 0).hitRate()),
+        () -> assertEquals(4, new CacheStats(3, 1, 0).requests()));
+  }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.RecordComponent;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class DevcontainerDiffTest {
+
+  private final Devcontainer devcontainer = Devcontainer.parse("""
+      {
+        "name": "example",
+        "build": {"dockerfile": "Dockerfile", "args": {"VARIANT": "17"}},
+        "features": {"ghcr.io/devcontainers/features/node:1": {"version": "lts"}},
+        "containerEnv": {"JAVA_HOME": "/opt/java"},
+        "remoteEnv": {"PATH": "${containerEnv:PATH}"},
+        "mounts": ["source=cache,target=/cache,type=volume"],
+        "runArgs": ["--init"],
+        "customizations": {"vscode": {"extensions": ["vscjava.vscode-java-pack"]}}
+      }
+      """);
+
+  @Test
+  void findsNoChangesInEqualCopies() {
+    final Devcontainer copy = Devcontainer.parse("""
+        {
+          "name": "example",
+          "build": {"dockerfile": "Dockerfile", "args": {"VARIANT": "17"}},
+          "features": {"ghcr.io/devcontainers/features/node:1": {"version": "lts"}},
+          "containerEnv": {"JAVA_HOME": "/opt/java"},
+          "remoteEnv": {"PATH": "${containerEnv:PATH}"},
+          "mounts": ["source=cache,target=/cache,type=volume"],
+          "runArgs": ["--init"],
+          "customizations": {"vscode": {"extensions": ["vscjava.vscode-java-pack"]}}
+        }
+        """);
+    final DevcontainerDiff diff = DevcontainerDiff.of(devcontainer, copy);
+    assertAll(
+        () -> assertFalse(diff.changed()),
+        () -> assertEquals(ChangeImpact.none, diff.impact()),
+        () -> assertFalse(DevcontainerDiff.of(devcontainer, devcontainer).changed()));
+  }
+
+  @Test
+  void classifiesNameAsNone() {
+    final DevcontainerDiff diff = DevcontainerDiff.of(devcontainer, devcontainer.withName("renamed"));
+    assertEquals(new DevcontainerDiff(ChangeImpact.none, List.of("name")), diff);
+  }
+
+  @Test
+  void classifiesRemoteEnvAsRestart() {
+    final DevcontainerDiff diff = DevcontainerDiff.of(devcontainer,
+        devcontainer.withRemoteEnv(Map.of("PATH", "/usr/bin")));
+    assertEquals(new DevcontainerDiff(ChangeImpact.restart, List.of("remoteEnv.PATH")), diff);
+  }
+
+  @Test
+  void classifiesMountsAsRecreate() {
+    final DevcontainerDiff diff = DevcontainerDiff.of(devcontainer, devcontainer
+        .withMounts(List.of(new Mount("source=cache,target=/cache,type=volume", null),
+            new Mount(null, new MountObject(MountType.bind, "/src", "/dst"))))
+        .withRemoteEnv(Map.of()));
+    assertAll(
+        () -> assertEquals(ChangeImpact.recreate, diff.impact()),
+        () -> assertEquals(List.of("remoteEnv.PATH", "mounts[1]"), diff.paths()));
+  }
+
+  @Test
+  void classifiesBuildAsRebuild() {
+    final DevcontainerDiff diff = DevcontainerDiff.of(devcontainer, devcontainer
+        .withBuild(devcontainer.build().withArgs(Map.of("VARIANT", "21")))
+        .withRunArgs(List.of())
+        .withContainerEnv(null));
+    assertAll(
+        () -> assertEquals(ChangeImpact.rebuild, diff.impact()),
+        () -> assertEquals(List.of("containerEnv", "build.args.VARIANT", "runArgs[0]"), diff.paths()));
+  }
+
+  @Test
+  void reportsAddedKeysAndReplacedValues() {
+    final Map<String, Map<String, String>> features = new LinkedHashMap<>(devcontainer.features());
+    features.put("ghcr.io/devcontainers/features/java:1", Map.of());
+    final DevcontainerDiff diff = DevcontainerDiff.of(devcontainer, devcontainer
+        .withFeatures(features)
+        .withMounts(List.of(new Mount(null, new MountObject(MountType.volume, "cache", "/cache"))))
+        .withImage("example:latest"));
+    assertEquals(List.of("mounts[0].string", "mounts[0].object", "features.ghcr.io/devcontainers/features/java:1",
+        "image"), diff.paths());
+  }
+
+  @Test
+  void reportsAddedAndRemovedNullValues() {
+    final Map<String, String> empty = new LinkedHashMap<>();
+    final Map<String, String> unset = new LinkedHashMap<>();
+    unset.put("X", null);
+    final Devcontainer previous = devcontainer.withContainerEnv(unset);
+    assertAll(
+        () -> assertEquals(List.of("containerEnv.X"), DevcontainerDiff.of(previous, previous.withContainerEnv(empty))
+            .paths()),
+        () -> assertEquals(List.of("containerEnv.X"), DevcontainerDiff.of(previous.withContainerEnv(empty), previous)
+            .paths()),
+        () -> assertTrue(DevcontainerDiff.of(previous, previous.withContainerEnv(new LinkedHashMap<>(unset))).paths()
+            .isEmpty()));
+  }
+
+  @Test
+  void comparesCustomizations() {
+    final DevcontainerDiff diff = DevcontainerDiff.of(devcontainer, devcontainer
+        .withCustomizations(Map.of("vscode", Map.of("extensions", List.of("redhat.java")))));
+    assertAll(
+        () -> assertEquals(ChangeImpact.none, diff.impact()),
+        () -> assertTrue(diff.changed()),
+        () -> assertEquals(List.of("customizations.vscode.extensions[0]"), diff.paths()));
+  }
+
+  @Test
+  void comparesValuesOfDifferentTypes() {
+    final Devcontainer previous = Devcontainer.builder()
+        .build(Build.builder().dockerfile("Dockerfile").create())
+        .runArgs(List.of("--init"))
+        .customizations(Map.of("tool", Map.of("port", new Port(null, 8080), "label", new String("web"))))
+        .create();
+    final DevcontainerDiff diff = DevcontainerDiff.of(previous, previous
+        .withBuild(null)
+        .withRunArgs(null)
+        .withCustomizations(Map.of("tool", Map.of("port", new MountObject(null, null, null), "label", "web"))));
+    assertEquals(List.of("customizations.tool.port", "build", "runArgs"), diff.paths());
+  }
+
+  @Test
+  void classifiesEveryComponent() {
+    for (final RecordComponent component : Devcontainer.class.getRecordComponents()) {
+      assertTrue(DevcontainerDiff.IMPACTS.containsKey(component.getName()), component.getName());
+    }
+    assertEquals(ChangeImpact.rebuild, DevcontainerDiff.impact("unknown"));
+  }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import org.junit.jupiter.api.Test;
+
+class DevcontainerFingerprintTest {
+
+  private static final String JSON = """
+      {
+        "name": "%s",
+        "image": "mcr.microsoft.com/devcontainers/java:21",
+        "build": {"args": {%s}, "cacheFrom": ["example:cache"]},
+        "features": {
+          "ghcr.io/devcontainers/features/node:1": {"version": "lts"},
+          "ghcr.io/devcontainers/features/java:1": {"version": "21", "installMaven": "true"}
+        },
+        "remoteUser": "%s"
+      }
+      """;
+
+  private final DevcontainerFingerprint build = DevcontainerFingerprint.build();
+
+  @Test
+  void ignoresMapOrder() {
+    final Devcontainer first = Devcontainer.parse(JSON.formatted("a", "\"A\": \"1\", \"B\": \"2\"", "vscode"));
+    final Devcontainer second = Devcontainer.parse(JSON.formatted("a", "\"B\": \"2\", \"A\": \"1\"", "vscode"));
+    assertEquals(build.fingerprint(first), build.fingerprint(second));
+  }
+
+  @Test
+  void ignoresComponentsOutsideTheSelection() {
+    final Devcontainer first = Devcontainer.parse(JSON.formatted("a", "", "vscode"));
+    final Devcontainer second = Devcontainer.parse(JSON.formatted("b", "", "root"));
+    assertAll(
+        () -> assertEquals(build.fingerprint(first), build.fingerprint(second)),
+        () -> assertNotEquals(DevcontainerFingerprint.of("remoteUser").fingerprint(first),
+            DevcontainerFingerprint.of("remoteUser").fingerprint(second)));
+  }
+
+  @Test
+  void detectsBuildChanges() {
+    final Devcontainer devcontainer = Devcontainer.parse(JSON.formatted("a", "\"A\": \"1\"", "vscode"));
+    final String fingerprint = build.fingerprint(devcontainer);
+    assertAll(
+        () -> assertNotEquals(fingerprint, build.fingerprint(devcontainer.withImage("example:latest"))),
+        () -> assertNotEquals(fingerprint, build.fingerprint(devcontainer
+            .withBuild(devcontainer.build().withArgs(Map.of("A", "2"))))),
+        () -> assertNotEquals(fingerprint, build.fingerprint(devcontainer
+            .withBuild(devcontainer.build().withCacheFrom(List.of("example:cache", "other:cache"))))),
+        () -> assertNotEquals(fingerprint, build.fingerprint(devcontainer
+            .withOverrideFeatureInstallOrder(List.of("ghcr.io/devcontainers/features/java")))),
+        () -> assertEquals(64, fingerprint.length()));
+  }
+
+  @Test
+  void treatsNullLikeAbsent() {
+    final Devcontainer devcontainer = Devcontainer.builder().image("example").create();
+    final Map<String, Map<String, String>> features = new HashMap<>();
+    features.put("ghcr.io/devcontainers/features/node:1", null);
+    assertEquals(build.fingerprint(devcontainer.withFeatures(Map.of())),
+        build.fingerprint(devcontainer.withFeatures(features)));
+  }
+
+  @Test
+  void comparesNumbersByValue() {
+    final DevcontainerFingerprint customizations = DevcontainerFingerprint.of("customizations");
+    final Devcontainer integer = Devcontainer.builder()
+        .customizations(Map.of("tool", Map.of("size", 1)))
+        .create();
+    final Devcontainer longer = Devcontainer.builder()
+        .customizations(Map.of("tool", Map.of("size", 1L)))
+        .create();
+    final Devcontainer decimal = Devcontainer.builder()
+        .customizations(Map.of("tool", Map.of("size", new BigDecimal("1.5"), "enabled", true, "off", false,
+            "items", Arrays.asList("a", null), "type", MountType.bind, "port", new Port(null, 1),
+            "other", new StringBuilder("text"))))
+        .create();
+    assertAll(
+        () -> assertEquals(customizations.fingerprint(integer), customizations.fingerprint(longer)),
+        () -> assertNotEquals(customizations.fingerprint(integer), customizations.fingerprint(decimal)));
+  }
+
+  @Test
+  void normalizesNumberTypes() {
+    final DevcontainerFingerprint customizations = DevcontainerFingerprint.of("customizations");
+    final Function<Object, String> fingerprint = size -> customizations.fingerprint(Devcontainer.builder()
+        .customizations(Map.of("tool", Map.of("size", size)))
+        .create());
+    final String one = fingerprint.apply(1);
+    final String half = fingerprint.apply(new BigDecimal("1.5"));
+    final String huge = fingerprint.apply(new BigInteger("100000000000000000000"));
+    assertAll(
+        () -> assertEquals(one, fingerprint.apply(1.0)),
+        () -> assertEquals(one, fingerprint.apply(1.0f)),
+        () -> assertEquals(one, fingerprint.apply(new BigDecimal("1.00"))),
+        () -> assertEquals(one, fingerprint.apply(BigInteger.ONE)),
+        () -> assertEquals(one, fingerprint.apply((short) 1)),
+        () -> assertEquals(half, fingerprint.apply(1.5)),
+        () -> assertEquals(half, fingerprint.apply(new BigDecimal("1.50"))),
+        () -> assertEquals(huge, fingerprint.apply(1e20)),
+        () -> assertNotEquals(huge, fingerprint.apply(Long.MAX_VALUE)),
+        () -> assertEquals(fingerprint.apply(Double.NaN), fingerprint.apply(Float.NaN)),
+        () -> assertNotEquals(one, fingerprint.apply(Double.POSITIVE_INFINITY)));
+  }
+
+  @Test
+  void hashesLongStrings() {
+    final Devcontainer devcontainer = Devcontainer.builder().image("x".repeat(1000)).create();
+    assertNotEquals(build.fingerprint(devcontainer), build.fingerprint(devcontainer.withImage("x".repeat(999))));
+  }
+
+  @Test
+  void hashesNonAsciiStrings() {
+    final Devcontainer devcontainer = Devcontainer.builder().image("caf\u00e9").create();
+    assertAll(
+        () -> assertNotEquals(build.fingerprint(devcontainer), build.fingerprint(devcontainer.withImage("cafe"))),
+        () -> assertNotEquals(build.fingerprint(devcontainer.withImage("\u20ac")),
+            build.fingerprint(devcontainer.withImage("\u00e9"))));
+  }
+
+  @Test
+  void memoizesPerInstance() {
+    final Devcontainer devcontainer = Devcontainer.parse(JSON.formatted("a", "", "vscode"));
+    assertSame(build.fingerprint(devcontainer), build.fingerprint(devcontainer));
+  }
+
+  @Test
+  void rejectsUnknownComponents() {
+    assertThrows(IllegalArgumentException.class, () -> DevcontainerFingerprint.of("image", "unknown"));
+  }
+
+}
@@ -0,0 +1,166 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectReader;
+
+class DevcontainerInternerTest {
+
+  private static final String FIRST = """
+      {
+        "name": "first",
+        "image": "mcr.microsoft.com/devcontainers/base:ubuntu",
+        "features": {"ghcr.io/devcontainers/features/java:1": {"version": "21"}},
+        "forwardPorts": [3000, "db:5432"],
+        "portsAttributes": {"3000": {"label": "Application", "onAutoForward": "notify"}},
+        "containerEnv": {"A": "1", "B": "2"},
+        "mounts": [{"type": "volume", "source": "cache", "target": "/cache"}, "source=data,target=/data,type=volume"],
+        "runArgs": ["--init"],
+        "customizations": {"vscode": {"settings": {"size": 14, "ratio": 1.5, "enabled": true, "list": [1, null]}}}
+      }
+      """;
+
+  private static final String SECOND = """
+      {
+        "name": "second",
+        "image": "mcr.microsoft.com/devcontainers/base:ubuntu",
+        "features": {"ghcr.io/devcontainers/features/java:1": {"version": "21"}},
+        "forwardPorts": [3000, "db:5432"],
+        "portsAttributes": {"3000": {"label": "Application", "onAutoForward": "notify"}},
+        "containerEnv": {"B": "2", "A": "1"},
+        "mounts": [{"type": "volume", "source": "cache", "target": "/cache"}, "source=data,target=/data,type=volume"],
+        "runArgs": ["--init"],
+        "customizations": {"vscode": {"settings": {"size": 14, "ratio": 1.5, "enabled": true, "list": [1, null]}}}
+      }
+      """;
+
+  private final DevcontainerInterner interner = new DevcontainerInterner(1024);
+  private final ObjectReader reader = Devcontainer.interningReader(interner);
+
+  @Test
+  void sharesRepeatedValuesAcrossParses() {
+    final Devcontainer first = reader.readValue(FIRST);
+    final Devcontainer second = reader.readValue(SECOND);
+    final String feature = "ghcr.io/devcontainers/features/java:1";
+    assertAll(
+        () -> assertSame(first.image(), second.image()),
+        () -> assertSame(key(first.features(), feature), key(second.features(), feature)),
+        () -> assertSame(first.features().get(feature).get("version"), second.features().get(feature).get("version")),
+        () -> assertSame(key(first.containerEnv(), "A"), key(second.containerEnv(), "A")),
+        () -> assertSame(first.containerEnv().get("A"), second.containerEnv().get("A")),
+        () -> assertSame(first.portsAttributes().get("3000"), second.portsAttributes().get("3000")),
+        () -> assertSame(first.mounts().get(0).object(), second.mounts().get(0).object()),
+        () -> assertSame(first.mounts().get(1).string(), second.mounts().get(1).string()),
+        () -> assertEquals(Devcontainer.parse(FIRST), first));
+  }
+
+  @Test
+  void keepsOtherValuesAsParsed() {
+    final Devcontainer first = reader.readValue(FIRST);
+    final Devcontainer second = reader.readValue(SECOND);
+    assertAll(
+        () -> assertNotSame(first.runArgs(), second.runArgs()),
+        () -> assertNotSame(first.runArgs().getFirst(), second.runArgs().getFirst()),
+        () -> assertNotSame(first.containerEnv(), second.containerEnv()),
+        () -> assertNotSame(first.customizations(), second.customizations()),
+        () -> assertNotSame(first.forwardPorts(), second.forwardPorts()));
+  }
+
+  @Test
+  void keepsCollectionsModifiable() {
+    final Devcontainer devcontainer = reader.readValue(FIRST);
+    devcontainer.containerEnv().put("C", "3");
+    devcontainer.mounts().clear();
+    assertAll(
+        () -> assertEquals("3", devcontainer.containerEnv().get("C")),
+        () -> assertTrue(devcontainer.mounts().isEmpty()),
+        () -> assertFalse(reader.<Devcontainer>readValue(FIRST).containerEnv().containsKey("C")));
+  }
+
+  @Test
+  void keepsOrderOfMaps() {
+    final Devcontainer first = reader.readValue(FIRST);
+    final Devcontainer second = reader.readValue(SECOND);
+    assertAll(
+        () -> assertEquals(List.of("A", "B"), List.copyOf(first.containerEnv().keySet())),
+        () -> assertEquals(List.of("B", "A"), List.copyOf(second.containerEnv().keySet())));
+  }
+
+  @Test
+  void sharesNothingWithoutInterner() {
+    final Devcontainer first = Devcontainer.reader().readValue(FIRST);
+    final Devcontainer second = Devcontainer.reader().readValue(SECOND);
+    assertAll(
+        () -> assertNotSame(first.image(), second.image()),
+        () -> assertNotSame(first.portsAttributes().get("3000"), second.portsAttributes().get("3000")),
+        () -> assertNotSame(first.mounts().get(0).object(), second.mounts().get(0).object()),
+        () -> assertNotSame(first.mounts().get(1).string(), second.mounts().get(1).string()));
+  }
+
+  @Test
+  void keepsLazyCustomizations() {
+    final Devcontainer devcontainer = reader.withAttribute(DevcontainerModule.LAZY_CUSTOMIZATIONS, true)
+        .readValue(FIRST);
+    assertInstanceOf(LazyCustomization.class, devcontainer.customizations().get("vscode"));
+  }
+
+  @Test
+  void internsNull() {
+    assertNull(interner.intern(null));
+  }
+
+  @Test
+  void returnsUnknownValuesOnceFull() {
+    final DevcontainerInterner full = new DevcontainerInterner(1);
+    final String kept = full.intern("kept");
+    final String other = new String("other".toCharArray());
+    assertAll(
+        () -> assertSame(kept, full.intern(new String("kept".toCharArray()))),
+        () -> assertSame(other, full.intern(other)),
+        () -> assertNotSame(other, full.intern(new String("other".toCharArray()))),
+        () -> assertEquals(1, full.size()));
+  }
+
+  @Test
+  void dropsUnusedValues() {
+    final String kept = interner.intern("kept");
+    interner.intern("dropped");
+    interner.entry("dropped").enqueue();
+    assertAll(
+        () -> assertEquals(1, interner.size()),
+        () -> assertNull(interner.entry("dropped")),
+        () -> assertSame(kept, interner.intern(new String("kept".toCharArray()))));
+  }
+
+  @Test
+  void usesSharedPool() {
+    assertSame(DevcontainerInterner.shared(), Devcontainer.interningReader().getAttributes()
+        .getAttribute(DevcontainerModule.INTERNING));
+  }
+
+  @Test
+  void rejectsNonPositiveMaximumSize() {
+    assertThrows(IllegalArgumentException.class, () -> new DevcontainerInterner(0));
+  }
+
+  // the key instance of the map that equals the given name
+  private static String key(final Map<String, ?> map, final String name) {
+    return map.keySet().stream().filter(name::equals).findFirst().orElseThrow();
+  }
+
+}
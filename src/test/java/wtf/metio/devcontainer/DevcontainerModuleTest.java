@@ -0,0 +1,204 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.exc.MismatchedInputException;
+import tools.jackson.databind.exc.UnrecognizedPropertyException;
+import tools.jackson.databind.json.JsonMapper;
+
+class DevcontainerModuleTest {
+
+  // binds the records reflectively, just like the default mapper did before the module existed
+  private final ObjectMapper reflective = JsonMapper.builder()
+      .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+      .enable(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+      .build();
+
+  private final ObjectReader reader = Devcontainer.reader();
+
+  @TestFactory
+  Stream<DynamicTest> matchesReflectiveBinding() throws IOException {
+    try (Stream<Path> files = Files.list(Paths.get("src/test/resources"))) {
+      return files.sorted().toList().stream().map(file -> DynamicTest.dynamicTest(file.getFileName().toString(),
+          () -> assertEquals(reflective.readValue(file, Devcontainer.class), Devcontainer.parse(file))));
+    }
+  }
+
+  // a component the deserializer does not know would silently stay null with the default, lenient reader
+  @TestFactory
+  Stream<DynamicTest> readsAllRecordComponents() {
+    final ObjectReader strict = reader.with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    return Stream.of(Devcontainer.class, Build.class, GpuRequirements.class, HostRequirements.class,
+            MountObject.class, PortAttribute.class, Secret.class)
+        .flatMap(type -> Arrays.stream(type.getRecordComponents()))
+        .map(component -> DynamicTest.dynamicTest(
+            component.getDeclaringRecord().getSimpleName() + "." + component.getName(),
+            () -> assertNotNull(strict.forType(component.getDeclaringRecord())
+                .readValue("{\"" + component.getName() + "\": null}"))));
+  }
+
+  @Test
+  void registersOnCustomMapper() {
+    final ObjectMapper mapper = JsonMapper.builder().addModule(new DevcontainerModule()).build();
+    assertEquals("example", mapper.readValue("{\"name\": \"example\"}", Devcontainer.class).name());
+  }
+
+  @Test
+  void skipsUnknownProperties() {
+    final Devcontainer devcontainer = Devcontainer.parse("""
+        {
+          "unknown": {"nested": [1, 2, 3]},
+          "build": {"unknown": true, "target": "dev"},
+          "portsAttributes": {"3000": {"unknown": 1, "label": "app"}},
+          "secrets": {"TOKEN": {"unknown": "x", "description": "token"}},
+          "mounts": [{"unknown": "x", "target": "/data"}],
+          "hostRequirements": {"unknown": 1, "cpus": 2, "gpu": {"unknown": 1, "cores": 4}},
+          "image": "example"
+        }
+        """);
+    assertAll(
+        () -> assertEquals("example", devcontainer.image()),
+        () -> assertEquals("dev", devcontainer.build().target()),
+        () -> assertEquals("app", devcontainer.portsAttributes().get("3000").label()),
+        () -> assertEquals("token", devcontainer.secrets().get("TOKEN").description()),
+        () -> assertEquals("/data", devcontainer.mounts().getFirst().object().target()),
+        () -> assertEquals(2, devcontainer.hostRequirements().cpus()),
+        () -> assertEquals(4, devcontainer.hostRequirements().gpu().requirements().cores()));
+  }
+
+  @Test
+  void rejectsUnknownPropertiesWhenConfigured() {
+    final ObjectReader strict = reader.with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    assertThrows(UnrecognizedPropertyException.class, () -> strict.readValue("{\"unknown\": 1}"));
+  }
+
+  @Test
+  void readsNullValues() {
+    final Devcontainer devcontainer = Devcontainer.parse("""
+        {
+          "name": null,
+          "init": null,
+          "forwardPorts": null,
+          "capAdd": null,
+          "remoteEnv": null,
+          "build": null,
+          "postCreateCommand": null,
+          "waitFor": null,
+          "hostRequirements": {"cpus": null, "gpu": null},
+          "runArgs": ["--init", null],
+          "containerEnv": {"EMPTY": null}
+        }
+        """);
+    assertAll(
+        () -> assertNull(devcontainer.name()),
+        () -> assertNull(devcontainer.init()),
+        () -> assertNull(devcontainer.forwardPorts()),
+        () -> assertNull(devcontainer.capAdd()),
+        () -> assertNull(devcontainer.remoteEnv()),
+        () -> assertNull(devcontainer.build()),
+        () -> assertNull(devcontainer.postCreateCommand()),
+        () -> assertNull(devcontainer.waitFor()),
+        () -> assertNull(devcontainer.hostRequirements().cpus()),
+        () -> assertNull(devcontainer.hostRequirements().gpu()),
+        () -> assertEquals(2, devcontainer.runArgs().size()),
+        () -> assertNull(devcontainer.runArgs().get(1)),
+        () -> assertTrue(devcontainer.containerEnv().containsKey("EMPTY")));
+  }
+
+  @Test
+  void coercesScalars() {
+    final Devcontainer devcontainer = Devcontainer.parse("""
+        {"name": 123, "privileged": "true", "hostRequirements": {"cpus": "4"}, "forwardPorts": [3000, "db:5432"]}
+        """);
+    assertAll(
+        () -> assertEquals("123", devcontainer.name()),
+        () -> assertTrue(devcontainer.privileged()),
+        () -> assertEquals(4, devcontainer.hostRequirements().cpus()),
+        () -> assertIterableEquals(List.of("3000", "db:5432"), devcontainer.forwardPorts()));
+  }
+
+  @Test
+  void readsAllLifecycleCommands() {
+    final Devcontainer devcontainer = Devcontainer.parse("""
+        {
+          "initializeCommand": "a",
+          "onCreateCommand": "b",
+          "updateContentCommand": "c",
+          "postCreateCommand": "d",
+          "postStartCommand": "e",
+          "postAttachCommand": "f",
+          "init": false
+        }
+        """);
+    assertAll(
+        () -> assertEquals("a", devcontainer.initializeCommand().string()),
+        () -> assertEquals("b", devcontainer.onCreateCommand().string()),
+        () -> assertEquals("c", devcontainer.updateContentCommand().string()),
+        () -> assertEquals("d", devcontainer.postCreateCommand().string()),
+        () -> assertEquals("e", devcontainer.postStartCommand().string()),
+        () -> assertEquals("f", devcontainer.postAttachCommand().string()),
+        () -> assertEquals(Boolean.FALSE, devcontainer.init()));
+  }
+
+  @Test
+  void acceptsSingleValueAsArray() {
+    final Devcontainer devcontainer = Devcontainer.parse("{\"capAdd\": \"SYS_PTRACE\"}");
+    assertIterableEquals(List.of("SYS_PTRACE"), devcontainer.capAdd());
+  }
+
+  @Test
+  void rejectsSingleValueAsArrayWhenDisabled() {
+    final ObjectReader strict = reader.without(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY);
+    assertThrows(MismatchedInputException.class, () -> strict.readValue("{\"capAdd\": \"SYS_PTRACE\"}"));
+  }
+
+  @Test
+  void rejectsScalarAsMap() {
+    assertThrows(MismatchedInputException.class, () -> Devcontainer.parse("{\"containerEnv\": \"FOO=bar\"}"));
+  }
+
+  @Test
+  void rejectsScalarAsRecord() {
+    assertThrows(MismatchedInputException.class, () -> Devcontainer.parse("{\"build\": \"Containerfile\"}"));
+  }
+
+  @Test
+  void rejectsInvalidEnum() {
+    assertThrows(JacksonException.class, () -> Devcontainer.parse("{\"waitFor\": \"never\"}"));
+  }
+
+  @Test
+  void readsRecordFromPropertyName() {
+    try (JsonParser parser = reader.createParser("{\"image\": \"example\"}")) {
+      parser.nextToken();
+      parser.nextToken();
+      assertEquals("example", reader.<Devcontainer>readValue(parser).image());
+    }
+  }
+
+}
@@ -0,0 +1,106 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.List;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.StreamReadConstraints;
+import tools.jackson.core.exc.JacksonIOException;
+import tools.jackson.core.json.JsonFactory;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+class DevcontainerParseAllTest {
+
+  @Test
+  void parsesAllFilesInOrder() throws IOException {
+    final List<Path> files = resources();
+    final List<ParseResult> results = Devcontainer.parseAll(files);
+    assertEquals(files.size(), results.size());
+    for (int index = 0; index < files.size(); index++) {
+      final int slot = index;
+      final ParseResult result = results.get(index);
+      assertAll(
+          () -> assertEquals(files.get(slot), result.path()),
+          () -> assertTrue(result.succeeded()),
+          () -> assertEquals(Devcontainer.parse(result.path()), result.devcontainer()));
+    }
+  }
+
+  @Test
+  void parsesSequentiallyWithSinglePermit() throws IOException {
+    final List<ParseResult> results = Devcontainer.parseAll(resources(), 1);
+    assertTrue(results.stream().allMatch(ParseResult::succeeded));
+  }
+
+  @Test
+  void parsesWithCustomMapper() {
+    final Path file = Paths.get("src/test/resources/name.json");
+    final List<ParseResult> results = Devcontainer.parseAll(List.of(file), 2, Devcontainer.defaultObjectMapper());
+    assertEquals("example", results.getFirst().devcontainer().name());
+  }
+
+  @Test
+  void capturesFailuresPerFile(@TempDir final Path directory) throws IOException {
+    final Path broken = Files.writeString(directory.resolve("broken.json"), "{\"name\":");
+    final Path missing = directory.resolve("missing.json");
+    final Path valid = Paths.get("src/test/resources/name.json");
+    final List<ParseResult> results = Devcontainer.parseAll(List.of(broken, missing, valid));
+    assertAll(
+        () -> assertFalse(results.get(0).succeeded()),
+        () -> assertNull(results.get(0).devcontainer()),
+        () -> assertInstanceOf(JacksonException.class, results.get(0).failure()),
+        () -> assertInstanceOf(JacksonIOException.class, results.get(1).failure()),
+        () -> assertEquals(missing, results.get(1).path()),
+        () -> assertTrue(results.get(2).succeeded()),
+        () -> assertNull(results.get(2).failure()));
+  }
+
+  @Test
+  void propagatesErrors(@TempDir final Path directory) throws IOException {
+    final int depth = 1_000_000;
+    final Path nested = Files.writeString(directory.resolve("nested.json"),
+        "{\"postCreateCommand\":" + "{\"a\":".repeat(depth) + "\"echo\"" + "}".repeat(depth + 1));
+    final Path valid = Paths.get("src/test/resources/name.json");
+    final ObjectMapper unbounded = JsonMapper.builder(JsonFactory.builder()
+            .streamReadConstraints(StreamReadConstraints.builder().maxNestingDepth(Integer.MAX_VALUE).build())
+            .build())
+        .addModule(new DevcontainerModule())
+        .build();
+    assertThrows(StackOverflowError.class, () -> Devcontainer.parseAll(List.of(valid, nested, valid), 2, unbounded));
+  }
+
+  @Test
+  void parsesEmptyCollection() {
+    assertTrue(Devcontainer.parseAll(List.of()).isEmpty());
+  }
+
+  @Test
+  void rejectsNonPositiveParallelism() {
+    assertThrows(IllegalArgumentException.class, () -> Devcontainer.parseAll(List.of(), 0));
+  }
+
+  private static List<Path> resources() throws IOException {
+    try (Stream<Path> files = Files.list(Paths.get("src/test/resources"))) {
+      return files.sorted().toList();
+    }
+  }
+
+}
@@ -5,15 +5,27 @@
 package wtf.metio.devcontainer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
 import org.junit.jupiter.api.Test;
+import tools.jackson.core.JacksonException;
+import tools.jackson.core.exc.JacksonIOException;
+import tools.jackson.databind.DeserializationFeature;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.ObjectReader;
 
 class DevcontainerParseTest {
 
   private static final String JSON = "{\"name\":\"example\"}";
+  private static final String UNKNOWN = "{\"name\":\"example\",\"unknown\":true}";
+  private static final byte[] BYTES = JSON.getBytes(StandardCharsets.UTF_8);
   private static final File FILE = new File("src/test/resources/name.json");
 
   @Test
@@ -47,4 +59,90 @@ class DevcontainerParseTest {
     assertEquals("example", Devcontainer.parse(Paths.get("src/test/resources/name.json"), mapper).name());
   }
 
+  @Test
+  void parseFromBytes() {
+    assertEquals("example", Devcontainer.parse(BYTES).name());
+  }
+
+  @Test
+  void parseFromBytesWithMapper() {
+    assertEquals("example", Devcontainer.parse(BYTES, Devcontainer.defaultObjectMapper()).name());
+  }
+
+  @Test
+  void parseFromByteRange() {
+    final byte[] padded = ("  " + JSON + "  ").getBytes(StandardCharsets.UTF_8);
+    assertEquals("example", Devcontainer.parse(padded, 2, BYTES.length).name());
+  }
+
+  @Test
+  void parseFromByteRangeWithMapper() {
+    final byte[] padded = ("[]" + JSON).getBytes(StandardCharsets.UTF_8);
+    assertEquals("example", Devcontainer.parse(padded, 2, BYTES.length, Devcontainer.defaultObjectMapper()).name());
+  }
+
+  @Test
+  void parseFromInputStream() {
+    assertEquals("example", Devcontainer.parse(new ByteArrayInputStream(BYTES)).name());
+  }
+
+  @Test
+  void parseFromInputStreamWithMapper() {
+    final InputStream stream = new ByteArrayInputStream(BYTES);
+    assertEquals("example", Devcontainer.parse(stream, Devcontainer.defaultObjectMapper()).name());
+  }
+
+  @Test
+  void parseFromHeapBuffer() {
+    final ByteBuffer buffer = ByteBuffer.wrap(("[]" + JSON).getBytes(StandardCharsets.UTF_8)).position(2).slice();
+    assertEquals("example", Devcontainer.parse(buffer).name());
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  void parseFromDirectBuffer() {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(BYTES.length).put(BYTES).flip();
+    assertEquals("example", Devcontainer.parse(buffer).name());
+    assertEquals(0, buffer.position());
+  }
+
+  @Test
+  void parseFromBufferWithMapper() {
+    assertEquals("example", Devcontainer.parse(ByteBuffer.wrap(BYTES), Devcontainer.defaultObjectMapper()).name());
+  }
+
+  @Test
+  void parseMappedFile() {
+    assertEquals("example", Devcontainer.parseMapped(Paths.get("src/test/resources/name.json")).name());
+  }
+
+  @Test
+  void parseMappedFileWithMapper() {
+    final ObjectMapper mapper = Devcontainer.defaultObjectMapper();
+    assertEquals("example", Devcontainer.parseMapped(Paths.get("src/test/resources/name.json"), mapper).name());
+  }
+
+  @Test
+  void parseMappedMissingFile() {
+    assertThrows(JacksonIOException.class, () -> Devcontainer.parseMapped(Paths.get("does-not-exist.json")));
+  }
+
+  @Test
+  void readerIsShared() {
+    assertSame(Devcontainer.reader(), Devcontainer.reader());
+  }
+
+  @Test
+  void readerParsesDevcontainer() {
+    final Devcontainer devcontainer = Devcontainer.reader().readValue(JSON);
+    assertEquals("example", devcontainer.name());
+  }
+
+  @Test
+  void tuningReaderKeepsSharedReader() {
+    final ObjectReader strict = Devcontainer.reader().with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+    assertThrows(JacksonException.class, () -> strict.readValue(UNKNOWN));
+    assertEquals("example", Devcontainer.parse(UNKNOWN).name());
+  }
+
 }
@@ -0,0 +1,194 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryIteratorException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.core.JacksonException;
+
+class DevcontainerScannerTest {
+
+  private static final String JSON = "{\"name\":\"example\"}";
+
+  @TempDir
+  private Path root;
+
+  private Set<Path> expected;
+
+  @BeforeEach
+  void createTree() throws IOException {
+    expected = Set.of(
+        write(".devcontainer.json"),
+        write("app/.devcontainer/devcontainer.json"),
+        write("app/.devcontainer/python/devcontainer.json"),
+        write("app/.devcontainer/rust/devcontainer.json"),
+        write("lib/nested/.devcontainer.json"));
+    write("app/.devcontainer/Dockerfile");
+    write("app/.devcontainer/docs/README.md");
+    write("app/.devcontainer/deep/deeper/devcontainer.json");
+    write("app/devcontainer.json");
+    write("node_modules/some-package/.devcontainer.json");
+    write(".git/refs/.devcontainer.json");
+    write("target/classes/.devcontainer/devcontainer.json");
+    Files.createDirectories(root.resolve("empty/.devcontainer.json"));
+  }
+
+  @Test
+  void findsAllConfigurationLocations() {
+    try (Stream<ParseResult> results = DevcontainerScanner.scan(root)) {
+      final List<ParseResult> all = results.toList();
+      assertAll(
+          () -> assertEquals(expected, all.stream().map(ParseResult::path).collect(Collectors.toSet())),
+          () -> assertTrue(all.stream().allMatch(ParseResult::succeeded)),
+          () -> assertTrue(all.stream().allMatch(result -> "example".equals(result.devcontainer().name()))));
+    }
+  }
+
+  @Test
+  void descendsIntoDirectoriesThatAreNotExcluded() {
+    try (Stream<ParseResult> results = DevcontainerScanner.scan(root, 2, Set.of(".git"))) {
+      final Set<Path> paths = results.map(ParseResult::path).collect(Collectors.toSet());
+      assertAll(
+          () -> assertEquals(expected.size() + 2, paths.size()),
+          () -> assertTrue(paths.contains(root.resolve("node_modules/some-package/.devcontainer.json"))),
+          () -> assertTrue(paths.contains(root.resolve("target/classes/.devcontainer/devcontainer.json"))));
+    }
+  }
+
+  @Test
+  void scansWithCustomMapper() {
+    final Set<String> excluded = DevcontainerScanner.EXCLUDED_DIRECTORIES;
+    try (Stream<ParseResult> results = DevcontainerScanner.scan(root, 1, excluded, Devcontainer.defaultObjectMapper())) {
+      assertEquals(expected.size(), results.filter(ParseResult::succeeded).count());
+    }
+  }
+
+  @Test
+  void skipsSymbolicLinks() throws IOException {
+    final Path target = root.resolve(".devcontainer.json");
+    Files.createSymbolicLink(root.resolve("lib/.devcontainer.json"), target);
+    Files.createDirectories(root.resolve("linked/.devcontainer"));
+    Files.createSymbolicLink(root.resolve("linked/.devcontainer/devcontainer.json"), target);
+    Files.createSymbolicLink(root.resolve("linked/.devcontainer/app"), root.resolve("app/.devcontainer/python"));
+    try (Stream<ParseResult> results = DevcontainerScanner.scan(root)) {
+      assertEquals(expected, results.map(ParseResult::path).collect(Collectors.toSet()));
+    }
+  }
+
+  @Test
+  void reportsBrokenFiles() throws IOException {
+    final Path broken = Files.writeString(root.resolve("lib/.devcontainer.json"), "{\"name\":");
+    try (Stream<ParseResult> results = DevcontainerScanner.scan(root)) {
+      final List<ParseResult> failures = results.filter(result -> !result.succeeded()).toList();
+      assertEquals(1, failures.size());
+      assertEquals(broken, failures.getFirst().path());
+      assertInstanceOf(JacksonException.class, failures.getFirst().failure());
+    }
+  }
+
+  @Test
+  void reportsMissingRoot() {
+    final Path missing = root.resolve("missing");
+    try (Stream<ParseResult> results = DevcontainerScanner.scan(missing)) {
+      final List<ParseResult> all = results.toList();
+      assertEquals(1, all.size());
+      assertEquals(missing, all.getFirst().path());
+      assertInstanceOf(UncheckedIOException.class, all.getFirst().failure());
+    }
+  }
+
+  @Test
+  void stopsWhenClosedEarly() throws IOException {
+    Path directory = root;
+    for (int depth = 0; depth < 100; depth++) {
+      directory = directory.resolve("level");
+      Files.writeString(Files.createDirectories(directory).resolve(".devcontainer.json"), JSON);
+    }
+    try (Stream<ParseResult> results = DevcontainerScanner.scan(root, 1)) {
+      assertTrue(results.findAny().orElseThrow().succeeded());
+    }
+  }
+
+  @Test
+  void endsIteration() {
+    try (Stream<ParseResult> results = DevcontainerScanner.scan(root.resolve("missing"))) {
+      final Iterator<ParseResult> iterator = results.iterator();
+      iterator.next();
+      assertFalse(iterator.hasNext());
+      assertFalse(iterator.hasNext());
+      assertThrows(NoSuchElementException.class, iterator::next);
+    }
+  }
+
+  @Test
+  void restoresInterruptWhileWaiting() {
+    try (Stream<ParseResult> results = DevcontainerScanner.scan(root)) {
+      final Iterator<ParseResult> iterator = results.iterator();
+      Thread.currentThread().interrupt();
+      assertThrows(IllegalStateException.class, iterator::hasNext);
+      assertTrue(Thread.interrupted());
+    }
+  }
+
+  @Test
+  void reportsFailedDirectoryIteration() {
+    final ParseResult result = failure(path -> {
+      throw new DirectoryIteratorException(new IOException("listing failed"));
+    });
+    assertAll(
+        () -> assertEquals(root, result.path()),
+        () -> assertInstanceOf(UncheckedIOException.class, result.failure()),
+        () -> assertEquals("listing failed", result.failure().getCause().getMessage()));
+  }
+
+  @Test
+  void reportsUnexpectedFailures() {
+    final IllegalStateException failure = new IllegalStateException("unexpected");
+    assertSame(failure, failure(path -> {
+      throw failure;
+    }).failure());
+  }
+
+  @Test
+  void rejectsNonPositiveParallelism() {
+    assertThrows(IllegalArgumentException.class, () -> DevcontainerScanner.scan(root, 0));
+  }
+
+  private ParseResult failure(final DevcontainerScanner.Step step) {
+    final DevcontainerScanner.Scan scan = new DevcontainerScanner.Scan(Devcontainer.reader(), 1, Set.of());
+    scan.submit(root, step);
+    final List<ParseResult> results = StreamSupport.stream(scan, false).toList();
+    assertEquals(1, results.size());
+    return results.getFirst();
+  }
+
+  private Path write(final String file) throws IOException {
+    final Path path = root.resolve(file);
+    Files.createDirectories(path.getParent());
+    return Files.writeString(path, JSON);
+  }
+
+}
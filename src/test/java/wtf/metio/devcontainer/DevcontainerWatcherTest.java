@@ -0,0 +1,253 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.core.JacksonException;
+
+class DevcontainerWatcherTest {
+
+  private static final Duration DEBOUNCE = Duration.ofMillis(200);
+
+  @TempDir
+  private Path directory;
+
+  private final BlockingQueue<Change> changes = new LinkedBlockingQueue<>();
+  private final BlockingQueue<RuntimeException> failures = new LinkedBlockingQueue<>();
+  private DevcontainerWatcher watcher;
+  private Path file;
+
+  @BeforeEach
+  void startWatcher() throws IOException {
+    file = write(directory.resolve("devcontainer.json"), "first");
+    watcher = new DevcontainerWatcher(DEBOUNCE, new DevcontainerListener() {
+
+      @Override
+      public void changed(final Path path, final Devcontainer previous, final Devcontainer current) {
+        changes.add(new Change(path, previous, current));
+      }
+
+      @Override
+      public void failed(final Path path, final RuntimeException failure) {
+        failures.add(failure);
+      }
+
+    });
+  }
+
+  @AfterEach
+  void stopWatcher() throws IOException {
+    watcher.close();
+  }
+
+  @Test
+  void parsesOnWatch() throws IOException {
+    final Devcontainer devcontainer = watcher.watch(file);
+    assertEquals("first", devcontainer.name());
+    assertSame(devcontainer, watcher.current(file));
+  }
+
+  @Test
+  void notifiesAboutChanges() throws Exception {
+    final Devcontainer first = watcher.watch(file);
+    write(file, "second");
+    final Change change = next();
+    assertAll(
+        () -> assertEquals(file, change.path()),
+        () -> assertSame(first, change.previous()),
+        () -> assertEquals("second", change.current().name()),
+        () -> assertSame(change.current(), watcher.current(file)));
+  }
+
+  @Test
+  void debouncesBurstsOfWrites() throws Exception {
+    watcher.watch(file);
+    for (int index = 0; index < 5; index++) {
+      write(file, "write " + index);
+      Thread.sleep(10);
+    }
+    assertEquals("write 4", next().current().name());
+    assertNull(changes.poll(DEBOUNCE.toMillis() * 3, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void ignoresWritesWithoutChanges() throws Exception {
+    final Path other = write(directory.resolve("other.json"), "other");
+    watcher.watch(file);
+    watcher.watch(other);
+    Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+    write(other, "changed");
+    assertEquals(other, next().path());
+    assertNull(changes.poll(DEBOUNCE.toMillis() * 3, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void followsDeletionAndCreation() throws Exception {
+    final Devcontainer first = watcher.watch(file);
+    Files.delete(file);
+    final Change deleted = next();
+    assertSame(first, deleted.previous());
+    assertNull(deleted.current());
+    assertNull(watcher.current(file));
+    write(file, "recreated");
+    final Change created = next();
+    assertNull(created.previous());
+    assertEquals("recreated", created.current().name());
+  }
+
+  @Test
+  void followsDeletedDirectories() throws Exception {
+    final Path nested = Files.createDirectories(directory.resolve("nested"));
+    final Path inside = write(nested.resolve("devcontainer.json"), "inside");
+    final Devcontainer first = watcher.watch(inside);
+    Files.delete(inside);
+    Files.delete(nested);
+    final Change deleted = next();
+    assertSame(first, deleted.previous());
+    assertNull(deleted.current());
+    Thread.sleep(DEBOUNCE.toMillis() * 3);
+    write(Files.createDirectories(nested).resolve("devcontainer.json"), "recreated");
+    final Change created = next();
+    assertNull(created.previous());
+    assertEquals("recreated", created.current().name());
+    write(inside, "modified");
+    assertEquals("modified", next().current().name());
+  }
+
+  @Test
+  void stopsCheckingDeletedDirectoriesOnceUnwatched() throws Exception {
+    final Path nested = Files.createDirectories(directory.resolve("nested"));
+    final Path inside = write(nested.resolve("devcontainer.json"), "inside");
+    watcher.watch(inside);
+    Files.delete(inside);
+    Files.delete(nested);
+    assertNull(next().current());
+    watcher.unwatch(inside);
+    write(Files.createDirectories(nested).resolve("devcontainer.json"), "recreated");
+    assertNull(changes.poll(DEBOUNCE.toMillis() * 3, TimeUnit.MILLISECONDS));
+  }
+
+  @Test
+  void keepsReloadingAfterListenerFailures() throws Exception {
+    final Path nested = Files.createDirectories(directory.resolve("nested"));
+    final Path inside = write(nested.resolve("devcontainer.json"), "inside");
+    final Path other = write(nested.resolve("other.json"), "other");
+    try (DevcontainerWatcher throwing = new DevcontainerWatcher(DEBOUNCE, (path, previous, current) -> {
+      changes.add(new Change(path, previous, current));
+      throw new IllegalStateException("listener failed");
+    })) {
+      throwing.watch(inside);
+      throwing.watch(other);
+      write(inside, "changed");
+      write(other, "changed");
+      assertEquals(Set.of(inside, other), Set.of(next().path(), next().path()));
+      Files.delete(inside);
+      Files.delete(other);
+      Files.delete(nested);
+      assertNull(next().current());
+      assertNull(next().current());
+      write(Files.createDirectories(nested).resolve("devcontainer.json"), "recreated");
+      assertEquals("recreated", next().current().name());
+    }
+  }
+
+  @Test
+  void keepsUnwatchedFilesUnwatched() throws IOException {
+    watcher.watch(file);
+    watcher.unwatch(file);
+    write(file, "second");
+    watcher.refresh(file);
+    Files.writeString(file, "{\"name\":");
+    watcher.refresh(file);
+    assertAll(
+        () -> assertNull(watcher.current(file)),
+        () -> assertTrue(changes.isEmpty()),
+        () -> assertTrue(failures.isEmpty()));
+  }
+
+  @Test
+  void rejectsNonPositiveDebounce() {
+    final DevcontainerListener listener = (path, previous, current) -> {
+    };
+    assertAll(
+        () -> assertThrows(IllegalArgumentException.class, () -> new DevcontainerWatcher(Duration.ZERO, listener)),
+        () -> assertThrows(IllegalArgumentException.class,
+            () -> new DevcontainerWatcher(Duration.ofMillis(-1), listener)));
+  }
+
+  @Test
+  void keepsPreviousValueOnFailure() throws Exception {
+    final Devcontainer first = watcher.watch(file);
+    Files.writeString(file, "{\"name\":");
+    assertInstanceOf(JacksonException.class, failures.poll(10, TimeUnit.SECONDS));
+    assertSame(first, watcher.current(file));
+    write(file, "fixed");
+    assertSame(first, next().previous());
+  }
+
+  @Test
+  void ignoresFailuresByDefault() throws Exception {
+    try (DevcontainerWatcher lenient = new DevcontainerWatcher(DEBOUNCE,
+        (path, previous, current) -> changes.add(new Change(path, previous, current)))) {
+      final Devcontainer first = lenient.watch(file);
+      Files.writeString(file, "{\"name\":");
+      Thread.sleep(DEBOUNCE.toMillis() * 3);
+      write(file, "fixed");
+      final Change change = next();
+      assertSame(first, change.previous());
+      assertEquals("fixed", change.current().name());
+    }
+  }
+
+  @Test
+  void stopsWatchingUnwatchedFiles() throws Exception {
+    final Path other = write(directory.resolve("other.json"), "other");
+    watcher.watch(file);
+    watcher.watch(other);
+    watcher.unwatch(other);
+    assertNull(watcher.current(other));
+    assertNotNull(watcher.current(file));
+    watcher.unwatch(file);
+    watcher.unwatch(directory.resolve("never/watched.json"));
+    write(file, "unwatched");
+    assertNull(changes.poll(DEBOUNCE.toMillis() * 3, TimeUnit.MILLISECONDS));
+  }
+
+  private Change next() throws InterruptedException {
+    final Change change = changes.poll(10, TimeUnit.SECONDS);
+    assertNotNull(change, "no change within 10 seconds");
+    return change;
+  }
+
+  private static Path write(final Path path, final String name) throws IOException {
+    return Files.writeString(path, "{\"name\":\"" + name + "\"}");
+  }
+
+  private record Change(Path path, Devcontainer previous, Devcontainer current) {
+
+  }
+
+}
@@ -0,0 +1,121 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class FeatureOrderResolverTest {
+
+  private static final String UTILS = "ghcr.io/devcontainers/features/common-utils:2";
+  private static final String NODE = "ghcr.io/devcontainers/features/node:1";
+  private static final String PYTHON = "ghcr.io/devcontainers/features/python:1";
+  private static final String CLI = "ghcr.io/devcontainers/features/github-cli:1";
+  private static final String DOCKER = "ghcr.io/devcontainers/features/docker-in-docker@sha256:0123";
+
+  private static final Map<String, FeatureMetadata> METADATA = Map.of(
+      NODE, new FeatureMetadata(List.of("ghcr.io/devcontainers/features/common-utils"), null),
+      PYTHON, new FeatureMetadata(List.of("ghcr.io/devcontainers/features/common-utils",
+          "ghcr.io/devcontainers/features/python", "ghcr.io/devcontainers/features/node"), null),
+      CLI, new FeatureMetadata(null, List.of(NODE)),
+      DOCKER, new FeatureMetadata(List.of("ghcr.io/devcontainers/features/missing"), null));
+
+  private final AtomicInteger lookups = new AtomicInteger();
+  private final FeatureOrderResolver resolver = new FeatureOrderResolver(feature -> {
+    lookups.incrementAndGet();
+    return METADATA.get(feature);
+  });
+
+  @Test
+  void ordersByInstallsAfter() {
+    final FeatureOrder order = resolver.resolve(List.of(NODE, PYTHON, UTILS, DOCKER), null);
+    assertAll(
+        () -> assertEquals(List.of(List.of(UTILS, DOCKER), List.of(NODE), List.of(PYTHON)), order.layers()),
+        () -> assertEquals(List.of(UTILS, DOCKER, NODE, PYTHON), order.order()));
+  }
+
+  @Test
+  void addsDependencies() {
+    final FeatureOrder order = resolver.resolve(List.of(CLI), List.of());
+    assertEquals(List.of(List.of(NODE), List.of(CLI)), order.layers());
+  }
+
+  @Test
+  void installsOverridesFirst() {
+    final FeatureOrder order = resolver.resolve(List.of(UTILS, NODE, PYTHON, CLI),
+        List.of("ghcr.io/devcontainers/features/python", CLI, "ghcr.io/devcontainers/features/unknown"));
+    assertEquals(List.of(List.of(PYTHON), List.of(UTILS), List.of(NODE), List.of(CLI)), order.layers());
+  }
+
+  @Test
+  void installsOverridesInListedOrder() {
+    assertAll(
+        () -> assertEquals(List.of(DOCKER, UTILS), resolver.resolve(List.of(UTILS, DOCKER), List.of(DOCKER, UTILS))
+            .order()),
+        () -> assertEquals(List.of(UTILS, DOCKER), resolver.resolve(List.of(UTILS, DOCKER), List.of(UTILS, DOCKER))
+            .order()));
+  }
+
+  @Test
+  void resolvesDevcontainer() {
+    final Map<String, Map<String, String>> features = new LinkedHashMap<>();
+    features.put(NODE, Map.of("version", "lts"));
+    features.put(UTILS, Map.of());
+    final Devcontainer devcontainer = Devcontainer.builder()
+        .features(features)
+        .overrideFeatureInstallOrder(List.of(NODE))
+        .create();
+    assertAll(
+        () -> assertEquals(List.of(NODE, UTILS), resolver.resolve(devcontainer).order()),
+        () -> assertEquals(List.of(), resolver.resolve(Devcontainer.builder().create()).layers()));
+  }
+
+  @Test
+  void memoizesPerFeatureSet() {
+    final FeatureOrder first = resolver.resolve(List.of(NODE, UTILS), null);
+    final int calls = lookups.get();
+    assertAll(
+        () -> assertSame(first, resolver.resolve(List.of(NODE, UTILS), List.of())),
+        () -> assertEquals(calls, lookups.get()));
+  }
+
+  @Test
+  void detectsCycles() {
+    final FeatureOrderResolver cyclic = new FeatureOrderResolver(feature -> switch (feature) {
+      case "a" -> new FeatureMetadata(null, List.of("b"));
+      case "b" -> new FeatureMetadata(null, List.of("c"));
+      case "d" -> new FeatureMetadata(List.of("a"), null);
+      case "c" -> new FeatureMetadata(null, List.of("a"));
+      default -> null;
+    });
+    final IllegalArgumentException exception = assertThrows(IllegalArgumentException.class,
+        () -> cyclic.resolve(List.of("d", "e", "a"), null));
+    assertTrue(exception.getMessage().endsWith("[d, a, b, c]"));
+  }
+
+  @Test
+  void stripsVersions() {
+    assertAll(
+        () -> assertEquals("ghcr.io/devcontainers/features/node", FeatureOrderResolver.id(NODE)),
+        () -> assertEquals("ghcr.io/devcontainers/features/docker-in-docker", FeatureOrderResolver.id(DOCKER)),
+        () -> assertEquals("localhost:5000/features/node", FeatureOrderResolver.id("localhost:5000/features/node")),
+        () -> assertEquals("./local-feature", FeatureOrderResolver.id("./local-feature")));
+  }
+
+  @Test
+  void buildsMetadata() {
+    assertEquals(List.of(NODE), FeatureMetadata.builder().dependsOn(List.of(NODE)).create().dependsOn());
+  }
+
+}
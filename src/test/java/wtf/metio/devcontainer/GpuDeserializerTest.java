@@ -5,12 +5,15 @@
 package wtf.metio.devcontainer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import org.junit.jupiter.api.Test;
 import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.exc.MismatchedInputException;
 
 class GpuDeserializerTest {
 
@@ -33,9 +36,39 @@ class GpuDeserializerTest {
     assertEquals("8gb", gpu.requirements().memory());
   }
 
+  @Test
+  void deserializesFalse() {
+    assertFalse(mapper.readValue("false", Gpu.class).enabled());
+  }
+
+  @Test
+  void deserializesObjectFromPropertyName() {
+    try (JsonParser parser = mapper.createParser("{\"cores\": 4}")) {
+      parser.nextToken();
+      parser.nextToken();
+      final Gpu gpu = mapper.readerFor(Gpu.class).readValue(parser);
+      assertEquals(4, gpu.requirements().cores());
+    }
+  }
+
+  @Test
+  void doesNotBuildTree() {
+    final CountingNodeFactory nodes = new CountingNodeFactory();
+    final Gpu[] gpus = mapper.readerFor(Gpu[].class).with(nodes).readValue("""
+        [true, "optional", {"cores": 2, "memory": "8gb"}]
+        """);
+    assertEquals("8gb", gpus[2].requirements().memory());
+    assertEquals(0, nodes.created());
+  }
+
   @Test
   void rejectsNumber() {
     assertThrows(JacksonException.class, () -> mapper.readValue("123", Gpu.class));
   }
 
+  @Test
+  void rejectsArrayAsMismatchedInput() {
+    assertThrows(MismatchedInputException.class, () -> mapper.readValue("[true]", Gpu.class));
+  }
+
 }
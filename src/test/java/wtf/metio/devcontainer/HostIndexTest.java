@@ -0,0 +1,182 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+class HostIndexTest {
+
+  private static final long GB = 1L << 30;
+
+  private final HostIndex index = new HostIndex();
+
+  @BeforeEach
+  void addHosts() {
+    index.update(new HostCapacity("small", 2, 4 * GB, 32 * GB, 0, 0));
+    index.update(new HostCapacity("medium", 8, 16 * GB, 128 * GB, 0, 0));
+    index.update(new HostCapacity("large", 32, 64 * GB, 512 * GB, 0, 0));
+    index.update(new HostCapacity("gpu", 16, 32 * GB, 256 * GB, 4, 16 * GB));
+    index.update(new HostCapacity("small-gpu", 4, 8 * GB, 64 * GB, 1, 4 * GB));
+  }
+
+  @Test
+  void matchesEveryHostWithoutRequirements() {
+    assertAll(
+        () -> assertEquals(5, index.match(null).size()),
+        () -> assertEquals(5, index.match(HostRequirements.builder().create()).size()));
+  }
+
+  @Test
+  void returnsTightestFitsFirst() {
+    final HostRequirements requirements = HostRequirements.builder().cpus(8).memory("8gb").create();
+    assertEquals(List.of("medium", "gpu", "large"), hosts(requirements));
+  }
+
+  @Test
+  void combinesDimensions() {
+    final HostRequirements requirements = HostRequirements.builder().cpus(4).storage("200gb").create();
+    assertEquals(List.of("gpu", "large"), hosts(requirements));
+  }
+
+  @Test
+  void requiresGpuWhenEnabled() {
+    final HostRequirements requirements = HostRequirements.builder()
+        .gpu(Gpu.builder().enabled(true).create())
+        .create();
+    assertEquals(List.of("small-gpu", "gpu"), hosts(requirements));
+  }
+
+  @Test
+  void ignoresGpuWhenDisabledOrOptional() {
+    assertAll(
+        () -> assertEquals(5, index.match(HostRequirements.builder()
+            .gpu(Gpu.builder().enabled(false).create()).create()).size()),
+        () -> assertEquals(5, index.match(HostRequirements.builder()
+            .gpu(Gpu.builder().optional("optional").create()).create()).size()));
+  }
+
+  @Test
+  void matchesGpuRequirements() {
+    assertAll(
+        () -> assertEquals(List.of("gpu"), hosts(HostRequirements.builder()
+            .gpu(Gpu.builder().requirements(new GpuRequirements(2, null)).create()).create())),
+        () -> assertEquals(List.of("gpu"), hosts(HostRequirements.builder()
+            .gpu(Gpu.builder().requirements(new GpuRequirements(null, "8gb")).create()).create())),
+        () -> assertEquals(List.of("small-gpu", "gpu"), hosts(HostRequirements.builder()
+            .gpu(Gpu.builder().requirements(new GpuRequirements(null, null)).create()).create())));
+  }
+
+  @Test
+  void returnsNothingWhenUnsatisfiable() {
+    assertTrue(index.match(HostRequirements.builder().memory("1tb").create()).isEmpty());
+  }
+
+  @Test
+  void seesUpdatesAndRemovals() {
+    final HostRequirements requirements = HostRequirements.builder().cpus(32).create();
+    assertEquals(List.of("large"), hosts(requirements));
+    index.update(new HostCapacity("medium", 64, 16 * GB, 128 * GB, 0, 0));
+    index.remove("large");
+    index.remove("unknown");
+    assertAll(
+        () -> assertEquals(List.of("medium"), hosts(requirements)),
+        () -> assertEquals(4, index.size()));
+  }
+
+  @Test
+  void agreesWithLinearScan() {
+    final Random random = new Random(42);
+    final HostIndex large = new HostIndex();
+    final List<HostCapacity> capacities = IntStream.range(0, 2000)
+        .mapToObj(host -> new HostCapacity("host-" + host, 1 + random.nextInt(64), (1 + random.nextInt(256)) * GB,
+            (1 + random.nextInt(2048)) * GB, random.nextInt(3) == 0 ? 1 + random.nextInt(8) : 0,
+            random.nextInt(32) * GB))
+        .toList();
+    capacities.forEach(large::update);
+    final HostRequirements requirements = HostRequirements.builder().cpus(32).memory("128gb").storage("1tb").create();
+    final long expected = capacities.stream().filter(host -> host.satisfies(requirements)).count();
+    assertEquals(expected, large.match(requirements).size());
+  }
+
+  @Test
+  void staysSortedAcrossReplacements() {
+    final Random random = new Random(7);
+    final HostIndex large = new HostIndex();
+    final Map<String, HostCapacity> capacities = new HashMap<>();
+    for (int step = 0; step < 5000; step++) {
+      final String name = "host-" + random.nextInt(200);
+      if (random.nextInt(10) == 0) {
+        large.remove(name);
+        capacities.remove(name);
+      } else {
+        final HostCapacity capacity = new HostCapacity(name, 1 + random.nextInt(16), random.nextInt(16) * GB,
+            random.nextInt(16) * GB, random.nextInt(4), random.nextInt(4) * GB);
+        large.update(capacity);
+        capacities.put(name, capacity);
+      }
+    }
+    final HostRequirements requirements = HostRequirements.builder().cpus(12).memory("4gb").create();
+    final List<HostCapacity> matches = large.match(requirements);
+    assertAll(
+        () -> assertEquals(capacities.size(), large.size()),
+        () -> assertEquals(Set.copyOf(capacities.values()), Set.copyOf(large.match(null))),
+        () -> assertEquals(capacities.values().stream().filter(host -> host.satisfies(requirements)).count(),
+            matches.size()),
+        () -> assertTrue(IntStream.range(1, matches.size())
+            .allMatch(rank -> matches.get(rank - 1).cpus() <= matches.get(rank).cpus())));
+  }
+
+  @Test
+  void acceptsConcurrentUpdates() {
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int host = 0; host < 100; host++) {
+        final String name = "concurrent-" + host;
+        executor.submit(() -> index.update(new HostCapacity(name, 1, GB, GB, 0, 0)));
+        executor.submit(() -> index.match(null));
+      }
+    }
+    assertEquals(105, index.match(null).size());
+  }
+
+  @Test
+  void agreesWithSatisfies() {
+    final List<HostRequirements> all = List.of(
+        HostRequirements.builder().cpus(8).memory("8gb").create(),
+        HostRequirements.builder().gpu(Gpu.builder().enabled(true).create()).create(),
+        HostRequirements.builder().gpu(Gpu.builder().enabled(false).create()).create(),
+        HostRequirements.builder().gpu(Gpu.builder().requirements(new GpuRequirements(2, "8gb")).create()).create(),
+        HostRequirements.builder().gpu(Gpu.builder().requirements(new GpuRequirements(1, "32gb")).create()).create(),
+        HostRequirements.builder().gpu(Gpu.builder().requirements(new GpuRequirements(null, null)).create()).create());
+    final List<HostCapacity> hosts = index.match(null);
+    for (final HostRequirements requirements : all) {
+      assertEquals(hosts.stream().filter(host -> host.satisfies(requirements)).count(),
+          index.match(requirements).size());
+    }
+    assertTrue(hosts.stream().allMatch(host -> host.satisfies(null)));
+  }
+
+  @Test
+  void buildsCapacity() {
+    assertEquals(8, HostCapacity.builder().host("builder").cpus(8).create().cpus());
+  }
+
+  private List<String> hosts(final HostRequirements requirements) {
+    return index.match(requirements).stream().map(HostCapacity::host).toList();
+  }
+
+}
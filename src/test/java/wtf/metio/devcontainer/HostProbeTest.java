@@ -0,0 +1,100 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class HostProbeTest {
+
+  private static final Duration TTL = Duration.ofSeconds(5);
+
+  @TempDir
+  private Path directory;
+
+  private final AtomicLong clock = new AtomicLong();
+  private Path meminfo;
+  private HostProbe probe;
+
+  @BeforeEach
+  void writeMeminfo() throws IOException {
+    meminfo = Files.writeString(directory.resolve("meminfo"), """
+        MemFree:         5144684 kB
+        MemTotal:        8388608 kB
+        MemAvailable:    5650732 kB
+        """);
+    probe = new HostProbe(directory, TTL, meminfo, clock::get);
+  }
+
+  @Test
+  void readsLocalCapacity() {
+    final HostCapacity capacity = probe.capacity();
+    assertAll(
+        () -> assertEquals(8L << 30, capacity.memory()),
+        () -> assertEquals(Runtime.getRuntime().availableProcessors(), capacity.cpus()),
+        () -> assertTrue(capacity.storage() > 0),
+        () -> assertEquals(0, capacity.gpuCores()));
+  }
+
+  @Test
+  void reusesSampleWithinTtl() throws IOException {
+    final HostCapacity first = probe.capacity();
+    Files.writeString(meminfo, "MemTotal: 1024 kB");
+    clock.addAndGet(TTL.toNanos() - 1);
+    assertSame(first, probe.capacity());
+    clock.incrementAndGet();
+    final HostCapacity second = probe.capacity();
+    assertNotSame(first, second);
+    assertEquals(1L << 20, second.memory());
+  }
+
+  @Test
+  void checksRequirements() {
+    assertAll(
+        () -> assertTrue(probe.satisfies(HostRequirements.builder().memory("8gb").create())),
+        () -> assertFalse(probe.satisfies(HostRequirements.builder().memory("9gb").create())),
+        () -> assertFalse(probe.satisfies(HostRequirements.builder().cpus(Integer.MAX_VALUE).create())),
+        () -> assertFalse(probe.satisfies(HostRequirements.builder().storage("8388607tb").create())),
+        () -> assertFalse(probe.satisfies(HostRequirements.builder()
+            .gpu(Gpu.builder().enabled(true).create()).create())),
+        () -> assertTrue(probe.satisfies(HostRequirements.builder()
+            .gpu(Gpu.builder().optional("optional").create()).create())));
+  }
+
+  @Test
+  void usesProcfsByDefault() {
+    if (Files.isReadable(Path.of("/proc/meminfo"))) {
+      assertTrue(new HostProbe(directory, TTL).capacity().memory() > 0);
+    }
+  }
+
+  @Test
+  void rejectsMeminfoWithoutTotal() throws IOException {
+    Files.writeString(meminfo, "MemFree: 1024 kB\nSwapTotal: 0 kB\nMemTotal");
+    assertThrows(UncheckedIOException.class, probe::capacity);
+  }
+
+  @Test
+  void rejectsMissingStorage() {
+    final HostProbe missing = new HostProbe(directory.resolve("missing"), TTL, meminfo, clock::get);
+    assertThrows(UncheckedIOException.class, missing::capacity);
+  }
+
+}
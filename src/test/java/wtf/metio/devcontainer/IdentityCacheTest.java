@@ -0,0 +1,63 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.jupiter.api.Test;
+
+class IdentityCacheTest {
+
+  private final AtomicInteger computations = new AtomicInteger();
+  private final IdentityCache<Port, String> cache = new IdentityCache<>();
+
+  @Test
+  void computesOncePerInstance() {
+    final Port port = new Port("localhost", 8080);
+    assertAll(
+        () -> assertEquals("localhost:8080", cache.get(port, this::compute)),
+        () -> assertEquals("localhost:8080", cache.get(port, this::compute)),
+        () -> assertEquals(1, computations.get()));
+  }
+
+  @Test
+  void separatesEqualInstances() {
+    cache.get(new Port("localhost", 8080), this::compute);
+    cache.get(new Port("localhost", 8080), this::compute);
+    assertEquals(2, computations.get());
+  }
+
+  @Test
+  void dropsCollectedKeys() {
+    final Port kept = new Port("kept", 1);
+    final Port dropped = new Port("dropped", 2);
+    cache.get(kept, this::compute);
+    cache.get(dropped, this::compute);
+    cache.entry(dropped).enqueue();
+    assertAll(
+        () -> assertEquals(1, cache.size()),
+        () -> assertNull(cache.entry(dropped)),
+        () -> assertEquals("kept:1", cache.get(kept, this::compute)),
+        () -> assertEquals(2, computations.get()));
+  }
+
+  @Test
+  void returnsValueStoredFirst() {
+    final Port port = new Port("localhost", 8080);
+    final String nested = cache.get(port, key -> cache.get(key, this::compute) + "-outer");
+    assertAll(
+        () -> assertEquals("localhost:8080", nested),
+        () -> assertEquals("localhost:8080", cache.get(port, this::compute)));
+  }
+
+  private String compute(final Port port) {
+    computations.incrementAndGet();
+    return port.host() + ":" + port.port();
+  }
+
+}
@@ -0,0 +1,78 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import org.junit.jupiter.api.Test;
+
+class InternTableTest {
+
+  private final AtomicInteger computations = new AtomicInteger();
+
+  @Test
+  void computesOncePerKey() {
+    final InternTable<String, String> table = new InternTable<>(4, this::compute);
+    final String first = table.get("key");
+    assertAll(
+        () -> assertSame(first, table.get("key")),
+        () -> assertEquals(1, computations.get()),
+        () -> assertEquals(1, table.size()));
+  }
+
+  @Test
+  void evictsOnceFull() {
+    final InternTable<String, String> table = new InternTable<>(4, this::compute);
+    for (int index = 0; index < 100; index++) {
+      table.get("key-" + index);
+    }
+    assertEquals(4, table.size());
+  }
+
+  @Test
+  void keepsKeysInUse() {
+    final InternTable<String, String> table = new InternTable<>(4, this::compute);
+    final String hot = table.get("hot");
+    for (int index = 0; index < 100; index++) {
+      assertSame(hot, table.get("hot"));
+      table.get("cold-" + index);
+    }
+    assertAll(
+        () -> assertSame(hot, table.get("hot")),
+        () -> assertEquals(4, table.size()),
+        () -> assertEquals(101, computations.get()));
+  }
+
+  @Test
+  void returnsValueOfFirstStoredComputation() {
+    final AtomicReference<InternTable<String, String>> table = new AtomicReference<>();
+    final AtomicBoolean racing = new AtomicBoolean();
+    final AtomicReference<String> raced = new AtomicReference<>();
+    // a lookup of the same key while computing it stands in for another thread that missed at the same time
+    table.set(new InternTable<>(4, key -> {
+      if (racing.compareAndSet(false, true)) {
+        raced.set(table.get().get(key));
+      }
+      return compute(key);
+    }));
+    final String value = table.get().get("key");
+    assertAll(
+        () -> assertSame(raced.get(), value),
+        () -> assertSame(value, table.get().get("key")),
+        () -> assertEquals(2, computations.get()),
+        () -> assertEquals(1, table.get().size()));
+  }
+
+  private String compute(final String key) {
+    computations.incrementAndGet();
+    return new String(key.toCharArray());
+  }
+
+}
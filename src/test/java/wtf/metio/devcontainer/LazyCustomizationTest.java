@@ -0,0 +1,130 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertIterableEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectReader;
+import tools.jackson.databind.exc.MismatchedInputException;
+
+class LazyCustomizationTest {
+
+  private static final String JSON = """
+      {
+        "customizations": {
+          "vscode": {"extensions": ["a", "b"], "settings": {"z": 1, "a": null, "m": 1.5}},
+          "jetbrains": {"backend": "IntelliJ"},
+          "empty": null
+        },
+        "name": "example"
+      }
+      """;
+
+  private final ObjectReader lazy = Devcontainer.reader().withAttribute(DevcontainerModule.LAZY_CUSTOMIZATIONS, true);
+
+  @TestFactory
+  Stream<DynamicTest> matchesEagerParsing() throws IOException {
+    try (Stream<Path> files = Files.list(Paths.get("src/test/resources"))) {
+      return files.sorted().toList().stream().map(file -> DynamicTest.dynamicTest(file.getFileName().toString(),
+          () -> assertEquals(Devcontainer.parse(file), lazy.readValue(file))));
+    }
+  }
+
+  @Test
+  void defersDecoding() {
+    final Devcontainer devcontainer = lazy.readValue(JSON);
+    final LazyCustomization vscode = assertInstanceOf(LazyCustomization.class,
+        devcontainer.customizations().get("vscode"));
+    assertFalse(vscode.isDecoded());
+    assertIterableEquals(List.of("a", "b"), (List<?>) vscode.get("extensions"));
+    assertTrue(vscode.isDecoded());
+  }
+
+  @Test
+  void keepsOrderAndNulls() {
+    final Devcontainer devcontainer = lazy.readValue(JSON);
+    final Map<?, ?> settings = (Map<?, ?>) devcontainer.customizations().get("vscode").get("settings");
+    assertAll(
+        () -> assertIterableEquals(List.of("z", "a", "m"), settings.keySet()),
+        () -> assertTrue(settings.containsKey("a")),
+        () -> assertNull(settings.get("a")),
+        () -> assertEquals(1.5, settings.get("m")),
+        () -> assertNull(devcontainer.customizations().get("empty")),
+        () -> assertEquals("example", devcontainer.name()));
+  }
+
+  @Test
+  void behavesLikeEagerMap() {
+    final Map<String, Object> eager = Devcontainer.parse(JSON).customizations().get("jetbrains");
+    final Map<String, Object> deferred = lazy.<Devcontainer>readValue(JSON).customizations().get("jetbrains");
+    assertAll(
+        () -> assertEquals(eager, deferred),
+        () -> assertEquals(deferred, eager),
+        () -> assertEquals(eager.hashCode(), deferred.hashCode()),
+        () -> assertEquals(eager.toString(), deferred.toString()),
+        () -> assertEquals(1, deferred.size()),
+        () -> assertTrue(deferred.containsKey("backend")),
+        () -> assertFalse(deferred.containsKey("frontend")));
+  }
+
+  @Test
+  void isReadOnly() {
+    final Map<String, Object> deferred = lazy.<Devcontainer>readValue(JSON).customizations().get("jetbrains");
+    assertThrows(UnsupportedOperationException.class, () -> deferred.put("backend", "other"));
+    assertThrows(UnsupportedOperationException.class, () -> deferred.entrySet().clear());
+  }
+
+  @Test
+  void decodesWithConfigurationOfReader() {
+    final String json = """
+        {"customizations": {"tool": {"ratio": 0.10000000000000000001, "size": 12345678901234567890, "count": 1}}}
+        """;
+    final ObjectReader exact = Devcontainer.reader()
+        .with(DeserializationFeature.USE_BIG_DECIMAL_FOR_FLOATS, DeserializationFeature.USE_BIG_INTEGER_FOR_INTS);
+    final Map<String, Object> eager = exact.<Devcontainer>readValue(json).customizations().get("tool");
+    final Map<String, Object> deferred = exact.withAttribute(DevcontainerModule.LAZY_CUSTOMIZATIONS, true)
+        .<Devcontainer>readValue(json).customizations().get("tool");
+    assertAll(
+        () -> assertEquals(new BigDecimal("0.10000000000000000001"), deferred.get("ratio")),
+        () -> assertEquals(new BigInteger("12345678901234567890"), deferred.get("size")),
+        () -> assertEquals(BigInteger.ONE, deferred.get("count")),
+        () -> assertEquals(eager, deferred));
+  }
+
+  @Test
+  void decodesEagerlyWithoutAttribute() {
+    final Devcontainer devcontainer = Devcontainer.reader()
+        .withAttribute(DevcontainerModule.LAZY_CUSTOMIZATIONS, false)
+        .readValue(JSON);
+    assertInstanceOf(LinkedHashMap.class, devcontainer.customizations().get("vscode"));
+  }
+
+  @Test
+  void rejectsNonObjectSettings() {
+    assertThrows(MismatchedInputException.class, () -> lazy.readValue("{\"customizations\": {\"vscode\": [1]}}"));
+  }
+
+}
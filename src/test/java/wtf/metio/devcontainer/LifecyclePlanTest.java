@@ -0,0 +1,209 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+class LifecyclePlanTest {
+
+  private final Devcontainer devcontainer = Devcontainer.builder()
+      .initializeCommand(Command.builder().string("docker pull example").create())
+      .onCreateCommand(Command.builder().object(Map.of(
+          "server", Command.builder().string("npm install").create(),
+          "client", Command.builder().array(List.of("yarn", "install")).create())).create())
+      .postCreateCommand(Command.builder().string("git lfs pull").create())
+      .postAttachCommand(Command.builder().string("echo attached").create())
+      .create();
+
+  @Test
+  void plansStages() {
+    final LifecyclePlan plan = LifecyclePlan.of(devcontainer);
+    assertAll(
+        () -> assertEquals(WaitFor.updateContentCommand, plan.waitFor()),
+        () -> assertEquals(List.of(new LifecycleStep(WaitFor.initializeCommand, null,
+            devcontainer.initializeCommand())), plan.steps(WaitFor.initializeCommand)),
+        () -> assertEquals(2, plan.steps(WaitFor.onCreateCommand).size()),
+        () -> assertTrue(plan.steps(WaitFor.updateContentCommand).isEmpty()),
+        () -> assertTrue(plan.steps(WaitFor.postStartCommand).isEmpty()));
+  }
+
+  @Test
+  void namesObjectEntries() {
+    final List<String> names = LifecyclePlan.of(devcontainer).steps(WaitFor.onCreateCommand).stream()
+        .map(LifecycleStep::name)
+        .sorted()
+        .toList();
+    assertEquals(List.of("client", "server"), names);
+  }
+
+  @Test
+  void flattensNestedObjectsAndSkipsEmptyCommands() {
+    final Devcontainer nested = Devcontainer.builder()
+        .postStartCommand(Command.builder().object(Map.of("outer", Command.builder().object(Map.of(
+            "inner", Command.builder().string("true").create(),
+            "empty", Command.builder().create())).create())).create())
+        .waitFor(WaitFor.postStartCommand)
+        .create();
+    final LifecyclePlan plan = LifecyclePlan.of(nested);
+    assertAll(
+        () -> assertEquals(WaitFor.postStartCommand, plan.waitFor()),
+        () -> assertEquals(List.of("outer"), plan.steps(WaitFor.postStartCommand).stream()
+            .map(LifecycleStep::name).toList()));
+  }
+
+  @Test
+  void runsStagesInOrder() {
+    final List<WaitFor> stages = new CopyOnWriteArrayList<>();
+    final LifecycleExecution execution = LifecyclePlan.of(devcontainer).execute(step -> stages.add(step.stage()),
+        Runnable::run);
+    assertAll(
+        () -> assertTrue(execution.completed().isDone()),
+        () -> assertTrue(execution.ready().isDone()),
+        () -> assertEquals(List.of(WaitFor.initializeCommand, WaitFor.onCreateCommand, WaitFor.onCreateCommand,
+            WaitFor.postCreateCommand), stages));
+  }
+
+  @Test
+  void runsPostAttachCommandOnEveryAttach() {
+    final List<WaitFor> stages = new CopyOnWriteArrayList<>();
+    final LifecycleExecution execution = LifecyclePlan.of(devcontainer).execute(step -> stages.add(step.stage()),
+        Runnable::run);
+    stages.clear();
+    execution.attach().join();
+    execution.attach().join();
+    assertEquals(List.of(WaitFor.postAttachCommand, WaitFor.postAttachCommand), stages);
+  }
+
+  @Test
+  void attachesOnceEarlierStagesCompleted() throws Exception {
+    final CountDownLatch postCreate = new CountDownLatch(1);
+    final List<WaitFor> attached = new CopyOnWriteArrayList<>();
+    final LifecycleExecution execution = LifecyclePlan.of(devcontainer).execute(step -> {
+      if (step.stage() == WaitFor.postCreateCommand) {
+        assertTrue(postCreate.await(5, TimeUnit.SECONDS));
+      } else if (step.stage() == WaitFor.postAttachCommand) {
+        attached.add(step.stage());
+      }
+    });
+    final CompletableFuture<Void> attach = execution.attach();
+    assertAll(
+        () -> assertFalse(attach.isDone()),
+        () -> assertTrue(attached.isEmpty()));
+    postCreate.countDown();
+    attach.get(5, TimeUnit.SECONDS);
+    assertEquals(List.of(WaitFor.postAttachCommand), attached);
+  }
+
+  @Test
+  void waitsForPostStartCommandBeforeAttaching() {
+    final Devcontainer attaching = devcontainer.withWaitFor(WaitFor.postAttachCommand);
+    final LifecycleExecution execution = LifecyclePlan.of(attaching).execute(step -> {
+    }, Runnable::run);
+    assertSame(execution.completed(), execution.ready());
+  }
+
+  @Test
+  void runsObjectEntriesInParallel() throws Exception {
+    final CountDownLatch both = new CountDownLatch(2);
+    final LifecycleExecution execution = LifecyclePlan.of(devcontainer).execute(step -> {
+      if (step.stage() == WaitFor.onCreateCommand) {
+        both.countDown();
+        assertTrue(both.await(5, TimeUnit.SECONDS));
+      }
+    });
+    assertNull(execution.completed().get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  void becomesReadyBeforeLaterStages() throws Exception {
+    final CountDownLatch postCreate = new CountDownLatch(1);
+    final LifecycleExecution execution = LifecyclePlan.of(devcontainer).execute(step -> {
+      if (step.stage() == WaitFor.postCreateCommand) {
+        assertTrue(postCreate.await(5, TimeUnit.SECONDS));
+      }
+    });
+    execution.ready().get(5, TimeUnit.SECONDS);
+    assertFalse(execution.completed().isDone());
+    postCreate.countDown();
+    execution.completed().get(5, TimeUnit.SECONDS);
+  }
+
+  @Test
+  void skipsLaterStagesAfterFailure() {
+    final List<WaitFor> stages = new CopyOnWriteArrayList<>();
+    final IOException failure = new IOException("exit code 1");
+    final LifecycleExecution execution = LifecyclePlan.of(devcontainer).execute(step -> {
+      stages.add(step.stage());
+      if (step.stage() == WaitFor.initializeCommand) {
+        throw failure;
+      }
+    }, Runnable::run);
+    final ExecutionException exception = assertThrows(ExecutionException.class, () -> execution.ready().get());
+    assertAll(
+        () -> assertSame(failure, exception.getCause()),
+        () -> assertTrue(execution.completed().isCompletedExceptionally()),
+        () -> assertEquals(List.of(WaitFor.initializeCommand), stages));
+  }
+
+  @Test
+  void keepsReadyAfterLaterFailure() {
+    final LifecycleExecution execution = LifecyclePlan.of(devcontainer).execute(step -> {
+      if (step.stage() == WaitFor.postCreateCommand) {
+        throw new IllegalStateException("not created");
+      }
+    }, Runnable::run);
+    final ExecutionException exception = assertThrows(ExecutionException.class, () -> execution.completed().get());
+    assertAll(
+        () -> assertFalse(execution.ready().isCompletedExceptionally()),
+        () -> assertInstanceOf(IllegalStateException.class, exception.getCause()));
+  }
+
+  @Test
+  void keepsCompletedAfterFailedAttach() {
+    final List<WaitFor> stages = new CopyOnWriteArrayList<>();
+    final LifecycleExecution execution = LifecyclePlan.of(devcontainer).execute(step -> {
+      stages.add(step.stage());
+      if (step.stage() == WaitFor.postAttachCommand) {
+        throw new IllegalStateException("not attached");
+      }
+    }, Runnable::run);
+    final ExecutionException exception = assertThrows(ExecutionException.class, () -> execution.attach().get());
+    assertAll(
+        () -> assertFalse(execution.completed().isCompletedExceptionally()),
+        () -> assertInstanceOf(IllegalStateException.class, exception.getCause()),
+        () -> assertThrows(ExecutionException.class, () -> execution.attach().get()),
+        () -> assertEquals(2, stages.stream().filter(WaitFor.postAttachCommand::equals).count()));
+  }
+
+  @Test
+  void skipsAttachAfterFailure() {
+    final List<WaitFor> stages = new CopyOnWriteArrayList<>();
+    final LifecycleExecution execution = LifecyclePlan.of(devcontainer).execute(step -> {
+      stages.add(step.stage());
+      throw new IOException("exit code 1");
+    }, Runnable::run);
+    assertAll(
+        () -> assertTrue(execution.attach().isCompletedExceptionally()),
+        () -> assertEquals(List.of(WaitFor.initializeCommand), stages));
+  }
+
+}
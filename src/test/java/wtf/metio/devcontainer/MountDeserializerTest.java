@@ -9,7 +9,9 @@ import static org.junit.jupiter.api.Assertions.assertThrows;
 
 import org.junit.jupiter.api.Test;
 import tools.jackson.core.JacksonException;
+import tools.jackson.core.JsonParser;
 import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.exc.MismatchedInputException;
 
 class MountDeserializerTest {
 
@@ -28,9 +30,35 @@ class MountDeserializerTest {
     assertEquals("/data", mount.object().target());
   }
 
+  @Test
+  void deserializesObjectFromPropertyName() {
+    try (JsonParser parser = mapper.createParser("{\"type\": \"bind\", \"target\": \"/src\"}")) {
+      parser.nextToken();
+      parser.nextToken();
+      final Mount mount = mapper.readerFor(Mount.class).readValue(parser);
+      assertEquals(MountType.bind, mount.object().type());
+      assertEquals("/src", mount.object().target());
+    }
+  }
+
+  @Test
+  void doesNotBuildTree() {
+    final CountingNodeFactory nodes = new CountingNodeFactory();
+    final Mount[] mounts = mapper.readerFor(Mount[].class).with(nodes).readValue("""
+        ["source=vol,target=/data,type=volume", {"type": "volume", "source": "cache", "target": "/cache"}]
+        """);
+    assertEquals("cache", mounts[1].object().source());
+    assertEquals(0, nodes.created());
+  }
+
   @Test
   void rejectsNumber() {
     assertThrows(JacksonException.class, () -> mapper.readValue("123", Mount.class));
   }
 
+  @Test
+  void rejectsArrayAsMismatchedInput() {
+    assertThrows(MismatchedInputException.class, () -> mapper.readValue("[\"a\"]", Mount.class));
+  }
+
 }
@@ -0,0 +1,109 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class MountSpecTest {
+
+  @Test
+  void parsesStandardFields() {
+    final MountSpec spec = MountSpec.parse("source=dind-var-lib-docker,target=/var/lib/docker,type=volume");
+    assertAll(
+        () -> assertEquals(MountType.volume, spec.type()),
+        () -> assertEquals("dind-var-lib-docker", spec.source()),
+        () -> assertEquals("/var/lib/docker", spec.target()),
+        () -> assertFalse(spec.readOnly()),
+        () -> assertNull(spec.consistency()),
+        () -> assertEquals(Map.of(), spec.options()));
+  }
+
+  @Test
+  void parsesAliasesAndOptions() {
+    final MountSpec spec = MountSpec.parse(
+        "Type=bind, src=${localWorkspaceFolder},dst=/workspace,consistency=cached,bind-propagation=rslave,,");
+    assertAll(
+        () -> assertEquals(MountType.bind, spec.type()),
+        () -> assertEquals("${localWorkspaceFolder}", spec.source()),
+        () -> assertEquals("/workspace", spec.target()),
+        () -> assertEquals("cached", spec.consistency()),
+        () -> assertEquals(Map.of("bind-propagation", "rslave"), spec.options()));
+  }
+
+  @Test
+  void parsesReadOnlyVariants() {
+    assertAll(
+        () -> assertTrue(MountSpec.parse("target=/a,readonly").readOnly()),
+        () -> assertTrue(MountSpec.parse("target=/a,ro=true").readOnly()),
+        () -> assertTrue(MountSpec.parse("target=/a,ro=1").readOnly()),
+        () -> assertFalse(MountSpec.parse("target=/a,readonly=false").readOnly()));
+  }
+
+  @Test
+  void keepsQuotedCommas() {
+    final MountSpec spec = MountSpec.parse("type=volume,target=/data,\"volume-opt=o=addr=1.2.3.4,rw\",nocopy");
+    assertEquals("o=addr=1.2.3.4,rw", spec.options().get("volume-opt"));
+    assertTrue(spec.options().containsKey("nocopy"));
+    assertNull(spec.options().get("nocopy"));
+  }
+
+  @Test
+  void leavesUnknownTypeUnset() {
+    assertNull(MountSpec.parse("type=tmpfs,target=/tmp").type());
+    assertNull(MountSpec.parse("target=/tmp").type());
+  }
+
+  @Test
+  void returnsReadOnlyOptions() {
+    final Map<String, String> options = MountSpec.parse("target=/a,volume-nocopy=true").options();
+    assertThrows(UnsupportedOperationException.class, () -> options.put("key", "value"));
+  }
+
+  @Test
+  void internsIdenticalStrings() {
+    final String mount = "source=interned,target=/interned,type=volume";
+    assertSame(MountSpec.parse(mount), MountSpec.parse(new String(mount.toCharArray())));
+  }
+
+  @Test
+  void convertsToObject() {
+    assertEquals(new MountObject(MountType.bind, "/src", "/dst"),
+        MountSpec.parse("type=bind,source=/src,target=/dst,ro").toObject());
+  }
+
+  @Test
+  void parsesStringMounts() {
+    final Mount first = new Mount("type=volume,source=shared,target=/shared", null);
+    final Mount second = new Mount("type=volume,source=shared,target=/shared", null);
+    assertSame(first.parsed(), second.parsed());
+  }
+
+  @Test
+  void parsesObjectMounts() {
+    final Mount mount = new Mount(null, new MountObject(MountType.volume, "cache", "/cache"));
+    assertEquals(new MountSpec(MountType.volume, "cache", "/cache", false, null, Map.of()), mount.parsed());
+  }
+
+  @Test
+  void parsesEmptyMounts() {
+    assertNull(new Mount(null, null).parsed());
+  }
+
+  @Test
+  void buildsSpec() {
+    assertEquals("/target", MountSpec.builder().target("/target").create().target());
+  }
+
+}
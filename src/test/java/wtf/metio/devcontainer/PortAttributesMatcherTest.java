@@ -0,0 +1,172 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class PortAttributesMatcherTest {
+
+  private static PortAttribute label(final String label) {
+    return PortAttribute.builder().label(label).create();
+  }
+
+  private static String match(final PortAttributesMatcher matcher, final String host, final int port,
+      final String commandLine) {
+    final PortAttribute attribute = matcher.match(host, port, commandLine);
+    return attribute == null ? null : attribute.label();
+  }
+
+  @Test
+  void matchesSinglePorts() {
+    final PortAttributesMatcher matcher = PortAttributesMatcher.of(Map.of("3000", label("app"), "22", label("ssh")),
+        null);
+    assertAll(
+        () -> assertEquals("app", matcher.match(3000).label()),
+        () -> assertEquals("ssh", matcher.match(22).label()),
+        () -> assertNull(matcher.match(3001)),
+        () -> assertNull(matcher.match(-1)));
+  }
+
+  @Test
+  void ignoresPortsAboveLimit() {
+    final Map<String, PortAttribute> attributes = new LinkedHashMap<>();
+    attributes.put("65535", label("last"));
+    attributes.put("65536", label("beyond"));
+    attributes.put("123456789", label("huge"));
+    attributes.put("65000-65536", label("range"));
+    attributes.put("db:99999", label("host"));
+    final PortAttributesMatcher matcher = PortAttributesMatcher.of(attributes, null);
+    assertAll(
+        () -> assertEquals("last", matcher.match(65535).label()),
+        () -> assertNull(matcher.match(65536)),
+        () -> assertNull(matcher.match(99999)),
+        () -> assertNull(matcher.match(123456789)),
+        () -> assertNull(matcher.match(65000)),
+        () -> assertNull(match(matcher, "db", 99999, null)));
+  }
+
+  @Test
+  void prefersHostPortOverPort() {
+    final Map<String, PortAttribute> attributes = new LinkedHashMap<>();
+    attributes.put("5432", label("any"));
+    attributes.put("db:5432", label("db"));
+    attributes.put("cache:6379", label("cache"));
+    final PortAttributesMatcher matcher = PortAttributesMatcher.of(attributes, label("other"));
+    assertAll(
+        () -> assertEquals("db", match(matcher, "db", 5432, null)),
+        () -> assertEquals("any", match(matcher, "web", 5432, null)),
+        () -> assertEquals("any", match(matcher, "cache", 5432, null)),
+        () -> assertEquals("any", match(matcher, null, 5432, null)),
+        () -> assertEquals("cache", match(matcher, "cache", 6379, null)),
+        () -> assertEquals("other", match(matcher, null, 6379, null)));
+  }
+
+  @Test
+  void matchesRangesWithFirstDeclarationWinning() {
+    final Map<String, PortAttribute> attributes = new LinkedHashMap<>();
+    attributes.put("5000-5999", label("first"));
+    attributes.put("4000-8000", label("wide"));
+    attributes.put("5500-5600", label("shadowed"));
+    attributes.put("9000-9000", label("single"));
+    attributes.put("5555", label("exact"));
+    attributes.put("6000-5000", label("reversed"));
+    final PortAttributesMatcher matcher = PortAttributesMatcher.of(attributes, null);
+    assertAll(
+        () -> assertNull(matcher.match(3999)),
+        () -> assertEquals("wide", matcher.match(4000).label()),
+        () -> assertEquals("wide", matcher.match(4999).label()),
+        () -> assertEquals("first", matcher.match(5000).label()),
+        () -> assertEquals("first", matcher.match(5550).label()),
+        () -> assertEquals("exact", matcher.match(5555).label()),
+        () -> assertEquals("first", matcher.match(5999).label()),
+        () -> assertEquals("wide", matcher.match(6000).label()),
+        () -> assertEquals("wide", matcher.match(8000).label()),
+        () -> assertNull(matcher.match(8001)),
+        () -> assertEquals("single", matcher.match(9000).label()),
+        () -> assertNull(matcher.match(9001)));
+  }
+
+  @Test
+  void joinsAdjacentRanges() {
+    final Map<String, PortAttribute> attributes = new LinkedHashMap<>();
+    attributes.put("100-199", label("low"));
+    attributes.put("200-299", label("high"));
+    attributes.put("150-250", label("middle"));
+    final PortAttributesMatcher matcher = PortAttributesMatcher.of(attributes, null);
+    assertAll(
+        () -> assertEquals("low", matcher.match(199).label()),
+        () -> assertEquals("high", matcher.match(200).label()),
+        () -> assertEquals("high", matcher.match(299).label()),
+        () -> assertNull(matcher.match(300)));
+  }
+
+  @Test
+  void matchesCommandLineWithPatterns() {
+    final Map<String, PortAttribute> attributes = new LinkedHashMap<>();
+    attributes.put(".+/server.js", label("node"));
+    attributes.put("python.*", label("python"));
+    attributes.put("3000", label("app"));
+    attributes.put("[invalid", label("invalid"));
+    final PortAttributesMatcher matcher = PortAttributesMatcher.of(attributes, label("other"));
+    assertAll(
+        () -> assertEquals("app", match(matcher, null, 3000, "node /app/server.js")),
+        () -> assertEquals("node", match(matcher, null, 4000, "node /app/server.js")),
+        () -> assertEquals("python", match(matcher, null, 4000, "python -m http.server")),
+        () -> assertEquals("other", match(matcher, null, 4000, "ruby")),
+        () -> assertEquals("other", match(matcher, null, 4000, null)));
+  }
+
+  @Test
+  void classifiesUnusualKeys() {
+    final Map<String, PortAttribute> attributes = new LinkedHashMap<>();
+    attributes.put(":80", label("colon"));
+    attributes.put("-80", label("dash"));
+    attributes.put("a-b", label("letters"));
+    attributes.put("80-b", label("open"));
+    attributes.put("db:x", label("hostname"));
+    final PortAttributesMatcher matcher = PortAttributesMatcher.of(attributes, null);
+    assertAll(
+        () -> assertNull(matcher.match(80)),
+        () -> assertEquals("colon", match(matcher, "", 1, "x:80")),
+        () -> assertEquals("dash", match(matcher, null, 1, "x-80")),
+        () -> assertEquals("letters", match(matcher, null, 1, "a-b")),
+        () -> assertEquals("open", match(matcher, null, 1, "80-b")),
+        () -> assertEquals("hostname", match(matcher, null, 1, "db:x")));
+  }
+
+  @Test
+  void ignoresNullAttributes() {
+    final Map<String, PortAttribute> attributes = new LinkedHashMap<>();
+    attributes.put("3000", null);
+    assertEquals("other", PortAttributesMatcher.of(attributes, label("other")).match(3000).label());
+  }
+
+  @Test
+  void compilesDevcontainer() {
+    final Devcontainer devcontainer = Devcontainer.parse("""
+        {
+          "portsAttributes": {"3000": {"label": "app"}, "40000-55000": {"label": "dynamic"}},
+          "otherPortsAttributes": {"onAutoForward": "silent"}
+        }
+        """);
+    final PortAttributesMatcher matcher = PortAttributesMatcher.of(devcontainer);
+    assertAll(
+        () -> assertEquals("app", matcher.match(3000).label()),
+        () -> assertEquals("dynamic", matcher.match(45000).label()),
+        () -> assertEquals(OnAutoForward.silent, matcher.match(80).onAutoForward()));
+  }
+
+  @Test
+  void compilesEmptyDevcontainer() {
+    assertNull(PortAttributesMatcher.of(Devcontainer.builder().create()).match(3000));
+  }
+
+}
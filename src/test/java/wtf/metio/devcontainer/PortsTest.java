@@ -0,0 +1,151 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.exc.MismatchedInputException;
+
+class PortsTest {
+
+  @Test
+  void parsesNumbersAndHosts() {
+    final Ports ports = Ports.of(List.of("3000", "db:5432", "localhost:8080"));
+    assertAll(
+        () -> assertEquals(3000, ports.port(0)),
+        () -> assertNull(ports.host(0)),
+        () -> assertEquals(5432, ports.port(1)),
+        () -> assertEquals("db", ports.host(1)),
+        () -> assertEquals(new Port("localhost", 8080), ports.entry(2)),
+        () -> assertTrue(ports.hasHosts()),
+        () -> assertArrayEquals(new int[]{3000, 5432, 8080}, ports.toPortArray()),
+        () -> assertEquals(List.of("3000", "db:5432", "localhost:8080"), ports));
+  }
+
+  @Test
+  void keepsNumbersCompact() {
+    final Ports ports = Ports.of(List.of("0", "80", "443", "3000", "5000", "8080"));
+    assertAll(
+        () -> assertFalse(ports.hasHosts()),
+        () -> assertNull(ports.host(5)),
+        () -> assertEquals(List.of("0", "80", "443", "3000", "5000", "8080"), ports));
+  }
+
+  @Test
+  void keepsTextOfUnusualEntries() {
+    final List<String> values = Arrays.asList("03000", "abc", ":80", "host:", "host:port", "1234567890", "-1", null,
+        "3000");
+    final Ports ports = Ports.of(values);
+    assertAll(
+        () -> assertEquals(values, ports),
+        () -> assertEquals(3000, ports.port(0)),
+        () -> assertEquals(-1, ports.port(1)),
+        () -> assertEquals(-1, ports.port(2)),
+        () -> assertEquals(-1, ports.port(3)),
+        () -> assertEquals(-1, ports.port(4)),
+        () -> assertEquals(-1, ports.port(5)),
+        () -> assertEquals(-1, ports.port(6)),
+        () -> assertEquals(-1, ports.port(7)),
+        () -> assertEquals(3000, ports.port(8)),
+        () -> assertFalse(ports.hasHosts()));
+  }
+
+  @Test
+  void limitsPortNumbers() {
+    final Ports ports = Ports.of(List.of("65535", "65536", "99999", "123456789", "db:65535", "db:65536"));
+    assertAll(
+        () -> assertEquals(65535, ports.port(0)),
+        () -> assertEquals(-1, ports.port(1)),
+        () -> assertEquals(-1, ports.port(2)),
+        () -> assertEquals(-1, ports.port(3)),
+        () -> assertEquals(65535, ports.port(4)),
+        () -> assertEquals(-1, ports.port(5)),
+        () -> assertEquals("65536", ports.get(1)));
+  }
+
+  @Test
+  void deserializesOutOfRangeNumbersAsText() {
+    final Ports ports = Devcontainer.parse("{\"forwardPorts\": [65535, 65536]}").parsedForwardPorts();
+    assertAll(
+        () -> assertEquals(List.of("65535", "65536"), ports),
+        () -> assertEquals(65535, ports.port(0)),
+        () -> assertEquals(-1, ports.port(1)));
+  }
+
+  @Test
+  void growsHostsAfterNumbers() {
+    final Ports ports = Ports.of(List.of("1", "2", "3", "4", "5", "6", "db:7", "8", "9"));
+    assertAll(
+        () -> assertNull(ports.host(5)),
+        () -> assertEquals("db", ports.host(6)),
+        () -> assertNull(ports.host(8)),
+        () -> assertEquals(9, ports.size()));
+  }
+
+  @Test
+  void returnsParsedInstance() {
+    final Ports ports = Ports.of(List.of("3000"));
+    assertSame(ports, Ports.of(ports));
+    assertNull(Ports.of(null));
+  }
+
+  @Test
+  void buildsPort() {
+    assertEquals(new Port("db", 5432), Port.builder().host("db").port(5432).create());
+  }
+
+  @Test
+  void isReadOnly() {
+    final Ports ports = Ports.of(List.of("3000"));
+    assertThrows(UnsupportedOperationException.class, () -> ports.add("4000"));
+  }
+
+  @Test
+  void deserializesIntoPorts() {
+    final Devcontainer devcontainer = Devcontainer.parse("""
+        {"forwardPorts": [3000, "db:5432", -1, 99999999999, null], "appPort": 8080}
+        """);
+    final Ports forwardPorts = assertInstanceOf(Ports.class, devcontainer.forwardPorts());
+    assertAll(
+        () -> assertSame(forwardPorts, devcontainer.parsedForwardPorts()),
+        () -> assertEquals(Arrays.asList("3000", "db:5432", "-1", "99999999999", null), forwardPorts),
+        () -> assertEquals(3000, forwardPorts.port(0)),
+        () -> assertEquals("db", forwardPorts.host(1)),
+        () -> assertEquals(List.of("8080"), devcontainer.appPort()),
+        () -> assertEquals(8080, devcontainer.parsedAppPort().port(0)));
+  }
+
+  @Test
+  void parsesBuiltLists() {
+    final Devcontainer devcontainer = Devcontainer.builder().forwardPorts(List.of("db:5432")).create();
+    assertEquals(5432, devcontainer.parsedForwardPorts().port(0));
+    assertNull(devcontainer.parsedAppPort());
+  }
+
+  @Test
+  void readsNullPorts() {
+    assertNull(Devcontainer.parse("{\"forwardPorts\": null}").forwardPorts());
+  }
+
+  @Test
+  void rejectsSingleValueWhenDisabled() {
+    assertThrows(MismatchedInputException.class, () -> Devcontainer.reader()
+        .without(DeserializationFeature.ACCEPT_SINGLE_VALUE_AS_ARRAY)
+        .readValue("{\"appPort\": 3000}"));
+  }
+
+}
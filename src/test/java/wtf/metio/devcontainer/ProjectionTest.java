@@ -0,0 +1,85 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.nio.file.Paths;
+import java.util.Set;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.DeserializationFeature;
+import tools.jackson.databind.ObjectReader;
+
+class ProjectionTest {
+
+  private static final String JSON = """
+      {
+        "name": "example",
+        "image": "mcr.microsoft.com/devcontainers/base:ubuntu",
+        "features": {"ghcr.io/devcontainers/features/java:1": {"version": "21"}},
+        "hostRequirements": {"cpus": 4, "gpu": {"cores": 2}},
+        "postCreateCommand": {"a": ["echo", "a"], "b": "echo b"},
+        "customizations": {"vscode": {"settings": {"nested": [1, [2, {"deep": true}]]}}},
+        "mounts": ["source=cache,target=/cache,type=volume"],
+        "unknown": {"ignored": true}
+      }
+      """;
+
+  private final ObjectReader projecting = Devcontainer.projectingReader("image", "build", "features", "hostRequirements");
+
+  @Test
+  void readsOnlyProjectedComponents() {
+    final Devcontainer devcontainer = projecting.readValue(JSON);
+    assertAll(
+        () -> assertEquals("mcr.microsoft.com/devcontainers/base:ubuntu", devcontainer.image()),
+        () -> assertEquals("21", devcontainer.features().get("ghcr.io/devcontainers/features/java:1").get("version")),
+        () -> assertEquals(4, devcontainer.hostRequirements().cpus()),
+        () -> assertEquals(2, devcontainer.hostRequirements().gpu().requirements().cores()),
+        () -> assertNull(devcontainer.build()),
+        () -> assertNull(devcontainer.name()),
+        () -> assertNull(devcontainer.postCreateCommand()),
+        () -> assertNull(devcontainer.customizations()),
+        () -> assertNull(devcontainer.mounts()));
+  }
+
+  @Test
+  void matchesFullParseForProjectedComponents() {
+    final Devcontainer full = Devcontainer.parse(Paths.get("src/test/resources/shell-big.json"));
+    final Devcontainer projected = Devcontainer.projectingReader("image", "forwardPorts", "remoteUser")
+        .readValue(Paths.get("src/test/resources/shell-big.json"));
+    assertEquals(Devcontainer.builder()
+        .image(full.image())
+        .forwardPorts(full.forwardPorts())
+        .remoteUser(full.remoteUser())
+        .create(), projected);
+  }
+
+  @Test
+  void skipsUnknownPropertiesEvenWhenStrict() {
+    final Devcontainer devcontainer = projecting.with(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES).readValue(JSON);
+    assertNotNull(devcontainer.image());
+  }
+
+  @Test
+  void readsNothingForEmptyProjection() {
+    assertEquals(Devcontainer.builder().create(), Devcontainer.projectingReader().readValue(JSON));
+  }
+
+  @Test
+  void storesProjectionAsAttribute() {
+    assertEquals(Set.of("image"), Devcontainer.projectingReader("image").getAttributes()
+        .getAttribute(DevcontainerModule.PROJECTION));
+  }
+
+  @Test
+  void rejectsUnknownComponent() {
+    assertThrows(IllegalArgumentException.class, () -> Devcontainer.projectingReader("image", "imgae"));
+  }
+
+}
@@ -0,0 +1,71 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.util.List;
+import org.junit.jupiter.api.Test;
+
+class RecordAccessorTest {
+
+  @Test
+  void readsComponentsInDeclarationOrder() {
+    final List<RecordAccessor> accessors = RecordAccessor.of(Port.class);
+    assertEquals(List.of("host", "port"), accessors.stream().map(RecordAccessor::name).toList());
+    assertEquals(8080, accessors.get(1).get(new Port("localhost", 8080)));
+    assertSame(accessors, RecordAccessor.of(Port.class));
+  }
+
+  @Test
+  void propagatesAccessorFailures() throws IllegalAccessException {
+    final RecordAccessor accessor = new RecordAccessor("value",
+        MethodHandles.lookup().unreflect(Failing.class.getRecordComponents()[0].getAccessor()));
+    final StackOverflowError error = new StackOverflowError();
+    final RecordAccessor overflowing = new RecordAccessor("value", failing(error));
+    assertAll(
+        () -> assertEquals("value", assertThrows(UnsupportedOperationException.class,
+            () -> accessor.get(new Failing("value"))).getMessage()),
+        () -> assertSame(error, assertThrows(StackOverflowError.class, () -> overflowing.get(new Failing("value")))));
+  }
+
+  @Test
+  void wrapsCheckedFailures() {
+    final IOException failure = new IOException("unreadable");
+    final RecordAccessor accessor = new RecordAccessor("value", failing(failure));
+    assertSame(failure, assertThrows(IllegalStateException.class, () -> accessor.get(new Failing("value")))
+        .getCause());
+  }
+
+  @Test
+  void rejectsInaccessibleRecords() {
+    assertThrows(IllegalStateException.class, () -> RecordAccessor.unreflect(Hidden.class.getRecordComponents()[0]));
+  }
+
+  record Failing(String value) {
+
+    @Override
+    public String value() {
+      throw new UnsupportedOperationException(value);
+    }
+
+  }
+
+  private record Hidden(String value) {
+  }
+
+  // a handle like an accessor that throws the given throwable, whether checked or not
+  private static MethodHandle failing(final Throwable throwable) {
+    final MethodHandle thrower = MethodHandles.throwException(Object.class, throwable.getClass());
+    return MethodHandles.dropArguments(MethodHandles.insertArguments(thrower, 0, throwable), 0, Object.class);
+  }
+
+}
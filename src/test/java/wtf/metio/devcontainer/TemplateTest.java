@@ -0,0 +1,150 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.Test;
+
+class TemplateTest {
+
+  private static final Map<String, String> LOCAL_ENV = Map.of("HOME", "/home/user", "TOKEN", "secret");
+
+  private static final VariableSource SOURCE = (name, argument) -> switch (name) {
+    case "localEnv" -> LOCAL_ENV.get(argument);
+    case "localWorkspaceFolder" -> "/home/user/project";
+    case "localWorkspaceFolderBasename" -> "project";
+    case "containerWorkspaceFolder" -> "/workspaces/project";
+    default -> null;
+  };
+
+  @Test
+  void resolvesVariables() {
+    assertAll(
+        () -> assertEquals("/home/user/.m2", Template.resolve("${localEnv:HOME}/.m2", SOURCE)),
+        () -> assertEquals("project-/workspaces/project",
+            Template.resolve("${localWorkspaceFolderBasename}-${containerWorkspaceFolder}", SOURCE)),
+        () -> assertEquals("[secret]", Template.resolve("[${localEnv:TOKEN}]", SOURCE)));
+  }
+
+  @Test
+  void fallsBackToDefaults() {
+    assertAll(
+        () -> assertEquals("/usr/bin:/bin", Template.resolve("${localEnv:PATH:/usr/bin:/bin}", SOURCE)),
+        () -> assertEquals("", Template.resolve("${localEnv:MISSING:}", SOURCE)));
+  }
+
+  @Test
+  void resolvesUnsetLocalEnvironmentVariablesToEmptyStrings() {
+    assertAll(
+        () -> assertEquals("", Template.resolve("${localEnv:MISSING}", SOURCE)),
+        () -> assertEquals("/opt:", Template.resolve("/opt:${localEnv:MISSING}", SOURCE)),
+        () -> assertEquals("--env=TOKEN=", Template.resolve("--env=TOKEN=${localEnv:MISSING}", SOURCE)));
+  }
+
+  @Test
+  void keepsUnknownVariables() {
+    assertAll(
+        () -> assertEquals("${containerEnv:PATH}:/opt", Template.resolve("${containerEnv:PATH}:/opt", SOURCE)),
+        () -> assertEquals("${devcontainerId}", Template.resolve("${devcontainerId}", SOURCE)));
+  }
+
+  @Test
+  void returnsPlainStringsAsTheyAre() {
+    final String plain = new String("--cap-add=SYS_PTRACE".toCharArray());
+    assertAll(
+        () -> assertSame(plain, Template.resolve(plain, SOURCE)),
+        () -> assertNull(Template.resolve(null, SOURCE)));
+  }
+
+  @Test
+  void keepsUnterminatedReferences() {
+    final Template template = Template.compile("prefix-${localEnv:HOME");
+    assertAll(
+        () -> assertTrue(template.isConstant()),
+        () -> assertEquals("prefix-${localEnv:HOME", template.resolve(SOURCE)),
+        () -> assertEquals("/home/user-${x", Template.resolve("${localEnv:HOME}-${x", SOURCE)));
+  }
+
+  @Test
+  void sharesCompiledTemplates() {
+    final Template template = Template.compile("${localEnv:HOME}/shared");
+    assertAll(
+        () -> assertSame(template, Template.compile(new String("${localEnv:HOME}/shared".toCharArray()))),
+        () -> assertFalse(template.isConstant()),
+        () -> assertEquals("${localEnv:HOME}/shared", template.toString()));
+  }
+
+  @Test
+  void resolvesDevcontainer() {
+    final Map<String, String> remoteEnv = new LinkedHashMap<>();
+    remoteEnv.put("PLAIN", "value");
+    remoteEnv.put("HOME", "${localEnv:HOME}");
+    remoteEnv.put("WORKSPACE", "${containerWorkspaceFolder}");
+    final Devcontainer devcontainer = Devcontainer.builder()
+        .name("${localWorkspaceFolderBasename}")
+        .remoteEnv(remoteEnv)
+        .containerEnv(Map.of("PLAIN", "value"))
+        .workspaceMount("source=${localWorkspaceFolder},target=${containerWorkspaceFolder},type=bind")
+        .workspaceFolder("${containerWorkspaceFolder}")
+        .mounts(List.of(
+            new Mount("source=${localEnv:HOME}/.ssh,target=/root/.ssh,type=bind", null),
+            new Mount("source=cache,target=/cache,type=volume", null),
+            new Mount(null, new MountObject(MountType.bind, "${localEnv:HOME}", "/home")),
+            new Mount(null, new MountObject(MountType.bind, "/src", "${containerWorkspaceFolder}/src")),
+            new Mount(null, new MountObject(MountType.volume, "cache", "/cache"))))
+        .runArgs(new ArrayList<>(List.of("--env", "TOKEN=${localEnv:TOKEN}")))
+        .create();
+    final Devcontainer resolved = devcontainer.resolve(SOURCE);
+    assertAll(
+        () -> assertEquals("${localWorkspaceFolderBasename}", resolved.name()),
+        () -> assertEquals(List.of("value", "/home/user", "/workspaces/project"),
+            List.copyOf(resolved.remoteEnv().values())),
+        () -> assertEquals("${localEnv:HOME}", devcontainer.remoteEnv().get("HOME")),
+        () -> assertSame(devcontainer.containerEnv(), resolved.containerEnv()),
+        () -> assertEquals("source=/home/user/project,target=/workspaces/project,type=bind", resolved.workspaceMount()),
+        () -> assertEquals("/workspaces/project", resolved.workspaceFolder()),
+        () -> assertEquals("source=/home/user/.ssh,target=/root/.ssh,type=bind", resolved.mounts().get(0).string()),
+        () -> assertSame(devcontainer.mounts().get(1), resolved.mounts().get(1)),
+        () -> assertEquals("/home/user", resolved.mounts().get(2).object().source()),
+        () -> assertEquals("/workspaces/project/src", resolved.mounts().get(3).object().target()),
+        () -> assertSame(devcontainer.mounts().get(4), resolved.mounts().get(4)),
+        () -> assertEquals(List.of("--env", "TOKEN=secret"), resolved.runArgs()));
+  }
+
+  @Test
+  void keepsNullMounts() {
+    final Devcontainer devcontainer = Devcontainer.parse(
+        "{\"mounts\": [null, \"source=${localEnv:HOME},target=/home,type=bind\"]}");
+    final Devcontainer resolved = devcontainer.resolve(SOURCE);
+    assertAll(
+        () -> assertNull(resolved.mounts().get(0)),
+        () -> assertEquals("source=/home/user,target=/home,type=bind", resolved.mounts().get(1).string()));
+  }
+
+  @Test
+  void keepsUnsetProperties() {
+    final Devcontainer devcontainer = Devcontainer.builder()
+        .mounts(List.of(new Mount(null, null)))
+        .runArgs(List.of("--init"))
+        .create();
+    final Devcontainer resolved = devcontainer.resolve(SOURCE);
+    assertAll(
+        () -> assertNull(resolved.remoteEnv()),
+        () -> assertNull(Devcontainer.builder().create().resolve(SOURCE).mounts()),
+        () -> assertSame(devcontainer.mounts(), resolved.mounts()),
+        () -> assertSame(devcontainer.runArgs(), resolved.runArgs()));
+  }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * SPDX-FileCopyrightText: The devcontainer.java Authors
+ * SPDX-License-Identifier: 0BSD
+ */
+package wtf.metio.devcontainer;
+
+import static org.junit.jupiter.api.Assertions.assertAll;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+class WeakKeyMapTest {
+
+  @Test
+  void keepsFirstValue() {
+    final WeakKeyMap<String, Integer> map = WeakKeyMap.byEquality();
+    final String key = "a";
+    assertAll(
+        () -> assertNull(map.putIfAbsent(key, 1)),
+        () -> assertEquals(1, map.putIfAbsent(new String("a".toCharArray()), 2).value()),
+        () -> assertSame(key, map.get(new String("a".toCharArray())).get()),
+        () -> assertEquals(1, map.size()));
+  }
+
+  @Test
+  void separatesEqualKeysByIdentity() {
+    final WeakKeyMap<String, Integer> map = WeakKeyMap.byIdentity();
+    final String key = "a";
+    map.putIfAbsent(key, 1);
+    assertAll(
+        () -> assertEquals(1, map.get(key).value()),
+        () -> assertNull(map.get(new String("a".toCharArray()))));
+  }
+
+  @Test
+  void dropsEntriesOfCollectedKeys() {
+    final WeakKeyMap<String, Integer> map = WeakKeyMap.byEquality();
+    map.putIfAbsent("kept", 1);
+    map.putIfAbsent("dropped", 2);
+    final WeakKeyMap.Entry<String, Integer> dropped = map.get("dropped");
+    dropped.enqueue();
+    assertAll(
+        () -> assertNull(dropped.get()),
+        () -> assertEquals(1, map.size()),
+        () -> assertNull(map.get("dropped")),
+        () -> assertEquals(1, map.get("kept").value()));
+  }
+
+  @Test
+  void comparesKeysByIdentity() {
+    final Port port = new Port("localhost", 8080);
+    final WeakKeyMap.Entry<Port, String> entry = new WeakKeyMap.Entry<>(port, null, true, null);
+    final WeakKeyMap.Entry<Port, String> cleared = new WeakKeyMap.Entry<>(port, null, true, null);
+    cleared.clear();
+    assertAll(
+        () -> assertTrue(entry.equals(entry)),
+        () -> assertTrue(entry.equals(new WeakKeyMap.Entry<>(port, null, true, null))),
+        () -> assertFalse(entry.equals(new WeakKeyMap.Entry<>(new Port("localhost", 8080), null, true, null))),
+        () -> assertFalse(cleared.equals(entry)),
+        () -> assertNotEquals(entry, port),
+        () -> assertEquals(System.identityHashCode(port), cleared.hashCode()));
+  }
+
+  @Test
+  void comparesKeysByEquality() {
+    final WeakKeyMap.Entry<String, String> entry = new WeakKeyMap.Entry<>("a", null, false, null);
+    final WeakKeyMap.Entry<String, String> cleared = new WeakKeyMap.Entry<>("a", null, false, null);
+    cleared.clear();
+    assertAll(
+        () -> assertTrue(entry.equals(new WeakKeyMap.Entry<>(new String("a".toCharArray()), null, false, null))),
+        () -> assertFalse(entry.equals(new WeakKeyMap.Entry<>("b", null, false, null))),
+        () -> assertFalse(new WeakKeyMap.Entry<>("Aa", null, false, null).equals(
+            new WeakKeyMap.Entry<>("BB", null, false, null))),
+        () -> assertFalse(entry.equals(cleared)),
+        () -> assertFalse(cleared.equals(entry)),
+        () -> assertEquals("a".hashCode(), cleared.hashCode()));
+  }
+
+}